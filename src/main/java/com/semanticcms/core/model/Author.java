@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2016, 2017, 2019, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2016, 2017, 2019, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,6 +23,8 @@
 
 package com.semanticcms.core.model;
 
+import com.aoapps.lang.io.Encoder;
+import java.io.IOException;
 import java.util.Objects;
 
 /**
@@ -83,10 +85,10 @@ public class Author {
         }
       }
     }
-    this.name = name;
-    this.href = href;
-    this.bookName = bookName;
-    this.page = page;
+    this.name = StringPool.intern(name);
+    this.href = StringPool.intern(href);
+    this.bookName = StringPool.intern(bookName);
+    this.page = StringPool.intern(page);
   }
 
   @Override
@@ -144,4 +146,27 @@ public class Author {
   public String getPage() {
     return page;
   }
+
+  /**
+   * Appends the link to this author, encoded for the output context: either the {@linkplain #getHref() href}
+   * or the servlet path of the author's {@linkplain #getPage() page} within the web application.
+   *
+   * @param  encoder  the optional encoder for the output context, such as for an HTML attribute
+   *
+   * @return  {@code true} when a link was written or {@code false} when the author has no link
+   */
+  public boolean appendHref(Encoder encoder, Appendable out) throws IOException {
+    if (href != null) {
+      IriEncoder.append(href, encoder, out);
+      return true;
+    }
+    if (page != null) {
+      if (!"/".equals(bookName)) {
+        IriEncoder.append(bookName, encoder, out);
+      }
+      IriEncoder.append(page, encoder, out);
+      return true;
+    }
+    return false;
+  }
 }
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2014, 2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2014, 2015, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -26,6 +26,7 @@ package com.semanticcms.core.model;
 import com.aoapps.collections.AoCollections;
 import com.aoapps.lang.Strings;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -48,6 +49,7 @@ public class Book implements Comparable<Book> {
   private final String pathPrefix;
 
   private final File cvsworkDirectory;
+  private final Path cvsworkPath;
   private final Set<ParentRef> unmodifiableParentRefs;
   private final String canonicalBase;
   private final PageRef contentRoot;
@@ -57,6 +59,18 @@ public class Book implements Comparable<Book> {
   private final boolean allowRobots;
   private final Map<String, String> unmodifiableParam;
 
+  /**
+   * The canonical references within this book.
+   *
+   * @see  PageRef#intern()
+   * @see  ElementRef#intern()
+   */
+  final WeakInterner<PageRef> pageRefs = new WeakInterner<>();
+  final WeakInterner<ElementRef> elementRefs = new WeakInterner<>();
+
+  private final Object resourceResolverLock = new Object();
+  private volatile ResourceResolver resourceResolver;
+
   private static String getProperty(Properties bookProps, Set<Object> usedKeys, String key) {
     usedKeys.add(key);
     return bookProps.getProperty(key);
@@ -77,6 +91,7 @@ public class Book implements Comparable<Book> {
     } else {
       this.cvsworkDirectory = new File(cvsworkDirectory);
     }
+    this.cvsworkPath = this.cvsworkDirectory.toPath();
     this.unmodifiableParentRefs = AoCollections.optimalUnmodifiableSet(parentRefs);
     String copyrightRightsHolder = getProperty(bookProps, usedKeys, "copyright.rightsHolder");
     String copyrightRights = getProperty(bookProps, usedKeys, "copyright.rights");
@@ -197,6 +212,33 @@ public class Book implements Comparable<Book> {
     return cvsworkDirectory;
   }
 
+  /**
+   * Gets the cvswork directory as a {@link Path}.
+   *
+   * @see  #getCvsworkDirectory()
+   */
+  public Path getCvsworkPath() {
+    return cvsworkPath;
+  }
+
+  /**
+   * Gets the resolver of resource files, shared by all pages of this book.
+   * Created on first use, so no directories are watched for books without resource look-ups.
+   */
+  ResourceResolver getResourceResolver() {
+    ResourceResolver resolver = resourceResolver;
+    if (resolver == null) {
+      synchronized (resourceResolverLock) {
+        resolver = resourceResolver;
+        if (resolver == null) {
+          resolver = new ResourceResolver(cvsworkDirectory);
+          resourceResolver = resolver;
+        }
+      }
+    }
+    return resolver;
+  }
+
   /**
    * Gets the parent pages for this book in the context of the current overall
    * content.
@@ -0,0 +1,442 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads many {@link Book} in parallel at startup, timing each phase of each book so slow books can be found.
+ *
+ * <p>Books are loaded in two parallel stages.  First, every book has its properties parsed, is built and
+ * validated, and has its cvswork directory resolved.  Second, once all books that loaded successfully are
+ * {@linkplain BookRegistry#registerAll(java.util.Collection) registered} together, every book has its pages
+ * warmed, which may then refer to pages in other books.</p>
+ *
+ * <p>A failure in one book does not stop the others.  Books that fail to build are not registered, while books
+ * that fail to warm remain registered.  Both are reported with their error.</p>
+ */
+public final class BookBootstrap {
+
+  /** Make no instances. */
+  private BookBootstrap() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The phases of loading a book, in order.
+   */
+  public enum Phase {
+    /**
+     * Reading and parsing the properties file.
+     */
+    PROPERTIES,
+    /**
+     * Building the book from its properties, including the validation of unused keys.
+     */
+    BOOK,
+    /**
+     * Resolving the canonical cvswork directory and the resource of the content root.
+     */
+    DIRECTORY,
+    /**
+     * Warming the pages of the book, by the provided {@link Warmer}.
+     */
+    WARM
+  }
+
+  /**
+   * Warms the pages of a book, such as by loading and caching its pages.
+   */
+  @FunctionalInterface
+  public interface Warmer {
+    void warm(Book book) throws Exception;
+  }
+
+  /**
+   * The configuration of one book to load.
+   *
+   * @see  Book#Book(java.lang.String, java.lang.String, boolean, java.util.Set, java.util.Properties)
+   */
+  public static final class BookConfig {
+
+    private final String name;
+    private final String cvsworkDirectory;
+    private final boolean allowRobots;
+    private final Set<ParentRef> parentRefs;
+    private final Path propertiesFile;
+
+    public BookConfig(String name, String cvsworkDirectory, boolean allowRobots, Set<ParentRef> parentRefs, Path propertiesFile) {
+      this.name = NullArgumentException.checkNotNull(name, "name");
+      this.cvsworkDirectory = NullArgumentException.checkNotNull(cvsworkDirectory, "cvsworkDirectory");
+      this.allowRobots = allowRobots;
+      this.parentRefs = NullArgumentException.checkNotNull(parentRefs, "parentRefs");
+      this.propertiesFile = NullArgumentException.checkNotNull(propertiesFile, "propertiesFile");
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getCvsworkDirectory() {
+      return cvsworkDirectory;
+    }
+
+    public boolean getAllowRobots() {
+      return allowRobots;
+    }
+
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning as provided
+    public Set<ParentRef> getParentRefs() {
+      return parentRefs;
+    }
+
+    public Path getPropertiesFile() {
+      return propertiesFile;
+    }
+  }
+
+  /**
+   * The result and timings of loading one book.
+   */
+  public static final class Timing {
+
+    private final BookConfig config;
+    private final long[] nanos = new long[Phase.values().length];
+    private Book book;
+    private Throwable error;
+    private Throwable warmError;
+
+    private Timing(BookConfig config) {
+      this.config = config;
+    }
+
+    public String getName() {
+      return config.getName();
+    }
+
+    /**
+     * Gets the time spent in a phase, which is zero when the phase was not reached.
+     */
+    public long getNanos(Phase phase) {
+      return nanos[phase.ordinal()];
+    }
+
+    /**
+     * Gets the time spent in each phase reached.
+     */
+    public Map<Phase, Long> getPhaseNanos() {
+      Map<Phase, Long> map = new EnumMap<>(Phase.class);
+      for (Phase phase : Phase.values()) {
+        long n = nanos[phase.ordinal()];
+        if (n != 0) {
+          map.put(phase, n);
+        }
+      }
+      return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Gets the total time spent in all phases.
+     */
+    public long getTotalNanos() {
+      long total = 0;
+      for (long n : nanos) {
+        total += n;
+      }
+      return total;
+    }
+
+    /**
+     * Gets the book.
+     *
+     * @return  the book or {@code null} when failed before the book was built
+     */
+    public Book getBook() {
+      return book;
+    }
+
+    /**
+     * Checks if the book was built, and registered when a registry was provided, even if it then failed
+     * to warm.
+     */
+    public boolean isBuilt() {
+      return error == null;
+    }
+
+    /**
+     * Gets the error that stopped the loading of the book, either while building or warming.
+     *
+     * @return  the error or {@code null} when loaded successfully
+     */
+    public Throwable getError() {
+      return error != null ? error : warmError;
+    }
+
+    /**
+     * Gets the error that stopped the warming of the book, after it was built.
+     *
+     * @return  the error or {@code null} when not warmed or warmed successfully
+     */
+    public Throwable getWarmError() {
+      return warmError;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(getName()).append(": ").append(TimeUnit.NANOSECONDS.toMillis(getTotalNanos())).append(" ms");
+      for (Phase phase : Phase.values()) {
+        sb.append(", ").append(phase).append('=').append(TimeUnit.NANOSECONDS.toMillis(nanos[phase.ordinal()])).append(" ms");
+      }
+      Throwable t = getError();
+      if (t != null) {
+        sb.append(", error=").append(t);
+      }
+      return sb.toString();
+    }
+  }
+
+  /**
+   * The result and timings of loading all books.
+   */
+  public static final class Report {
+
+    private final List<Timing> timings;
+    private final long elapsedNanos;
+
+    private Report(List<Timing> timings, long elapsedNanos) {
+      this.timings = timings;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the timing of each book, slowest first.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public List<Timing> getTimings() {
+      return timings;
+    }
+
+    /**
+     * Gets the wall-clock time of loading all books.
+     */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * Gets the books built, which are the books registered, including those that then failed to warm,
+     * in the order of {@link #getTimings()}.
+     */
+    public List<Book> getBooks() {
+      List<Book> books = new ArrayList<>(timings.size());
+      for (Timing timing : timings) {
+        if (timing.isBuilt()) {
+          books.add(timing.book);
+        }
+      }
+      return Collections.unmodifiableList(books);
+    }
+
+    /**
+     * Gets the timings of the books that failed to build or warm.
+     */
+    public List<Timing> getFailed() {
+      List<Timing> failed = new ArrayList<>();
+      for (Timing timing : timings) {
+        if (timing.getError() != null) {
+          failed.add(timing);
+        }
+      }
+      return Collections.unmodifiableList(failed);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Loaded ").append(timings.size() - getFailed().size()).append(" of ").append(timings.size())
+          .append(" books in ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms");
+      for (Timing timing : timings) {
+        sb.append(System.lineSeparator()).append("  ").append(timing);
+      }
+      return sb.toString();
+    }
+  }
+
+  /**
+   * Loads books in the {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @see  #load(java.util.Collection, com.semanticcms.core.model.BookRegistry, com.semanticcms.core.model.BookBootstrap.Warmer, java.util.concurrent.ForkJoinPool)
+   */
+  public static Report load(Collection<? extends BookConfig> configs, BookRegistry registry, Warmer warmer) {
+    return load(configs, registry, warmer, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Loads books in parallel.
+   *
+   * @param  registry  the registry to replace all books of once loaded, or {@code null} to not register the books
+   * @param  warmer    warms the pages of each book, or {@code null} to skip warming
+   *
+   * @throws  IllegalArgumentException  when more than one book has the same name
+   */
+  public static Report load(
+      Collection<? extends BookConfig> configs,
+      BookRegistry registry,
+      Warmer warmer,
+      ForkJoinPool pool
+  ) throws IllegalArgumentException {
+    long start = System.nanoTime();
+    List<Timing> timings = new ArrayList<>(configs.size());
+    Set<String> names = new HashSet<>();
+    for (BookConfig config : configs) {
+      if (!names.add(config.getName())) {
+        throw new IllegalArgumentException("Duplicate book: " + config.getName());
+      }
+      timings.add(new Timing(config));
+    }
+    // Build all books
+    List<Callable<Void>> tasks = new ArrayList<>(timings.size());
+    for (Timing timing : timings) {
+      tasks.add(() -> {
+        build(timing);
+        return null;
+      });
+    }
+    pool.invokeAll(tasks);
+    // Register all books together
+    if (registry != null) {
+      List<Book> books = new ArrayList<>(timings.size());
+      for (Timing timing : timings) {
+        if (timing.isBuilt()) {
+          books.add(timing.book);
+        }
+      }
+      registry.registerAll(books);
+    }
+    // Warm all books
+    if (warmer != null) {
+      tasks.clear();
+      for (Timing timing : timings) {
+        if (timing.isBuilt()) {
+          tasks.add(() -> {
+            warm(timing, warmer);
+            return null;
+          });
+        }
+      }
+      pool.invokeAll(tasks);
+    }
+    timings.sort(Comparator.comparingLong(Timing::getTotalNanos).reversed());
+    return new Report(Collections.unmodifiableList(timings), System.nanoTime() - start);
+  }
+
+  /**
+   * Runs the {@link Phase#PROPERTIES}, {@link Phase#BOOK}, and {@link Phase#DIRECTORY} phases,
+   * recording any error in the timing.
+   */
+  @SuppressWarnings("UseSpecificCatch")
+  private static void build(Timing timing) {
+    BookConfig config = timing.config;
+    Phase phase = Phase.PROPERTIES;
+    long phaseStart = System.nanoTime();
+    try {
+      Properties bookProps = new Properties();
+      try (InputStream in = Files.newInputStream(config.getPropertiesFile())) {
+        bookProps.load(in);
+      }
+      phaseStart = endPhase(timing, phase, phaseStart);
+
+      phase = Phase.BOOK;
+      Book book = new Book(config.getName(), config.getCvsworkDirectory(), config.getAllowRobots(), config.getParentRefs(), bookProps);
+      timing.book = book;
+      phaseStart = endPhase(timing, phase, phaseStart);
+
+      phase = Phase.DIRECTORY;
+      if (!Files.isDirectory(book.getCvsworkPath())) {
+        throw new FileNotFoundException("cvswork directory not found: " + book.getCvsworkPath());
+      }
+      // Resolves the canonical cvswork directory, shared by all pages of the book
+      book.getContentRoot().getResourceFile(true, false);
+      endPhase(timing, phase, phaseStart);
+    } catch (Throwable t) {
+      endPhase(timing, phase, phaseStart);
+      // Also recorded for errors, so a book not built is never registered
+      timing.error = t;
+      if (t instanceof Error) {
+        throw (Error) t;
+      }
+    }
+  }
+
+  /**
+   * Runs the {@link Phase#WARM} phase, recording any error in the timing.
+   */
+  @SuppressWarnings("UseSpecificCatch")
+  private static void warm(Timing timing, Warmer warmer) {
+    long phaseStart = System.nanoTime();
+    try {
+      warmer.warm(timing.book);
+      endPhase(timing, Phase.WARM, phaseStart);
+    } catch (Throwable t) {
+      endPhase(timing, Phase.WARM, phaseStart);
+      timing.warmError = t;
+      if (t instanceof InterruptedException) {
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+      } else if (t instanceof Error) {
+        throw (Error) t;
+      }
+    }
+  }
+
+  /**
+   * Records the time of a phase.
+   *
+   * @return  the start time of the next phase
+   */
+  private static long endPhase(Timing timing, Phase phase, long phaseStart) {
+    long now = System.nanoTime();
+    timing.nanos[phase.ordinal()] = now - phaseStart;
+    return now;
+  }
+}
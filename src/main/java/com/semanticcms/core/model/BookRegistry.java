@@ -0,0 +1,320 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The set of {@link Book} available to a web application, with routing of servlet paths to the book containing
+ * them.  Books are matched by the longest {@link Book#getName() book name} that is a prefix of the servlet path
+ * on a path segment boundary, with the root book {@code "/"}, when registered, matching all other paths.
+ *
+ * <p>The books are held in an immutable snapshot, replaced atomically on each change.  Routing is lock-free
+ * and always sees either all or none of a change, so books may be added, removed, or reloaded while
+ * requests are being routed.</p>
+ */
+public final class BookRegistry {
+
+  /**
+   * Notified after each change to the registered books.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * Called after a book is added, replaced, or removed.
+     *
+     * @param  name     the name of the book
+     * @param  oldBook  the previous book or {@code null} when added
+     * @param  newBook  the new book or {@code null} when removed
+     */
+    void bookChanged(String name, Book oldBook, Book newBook);
+  }
+
+  /**
+   * An immutable node in the trie of book names, by path segment.
+   */
+  private static final class Node {
+
+    private static final Node EMPTY = new Node(null, Collections.emptyMap());
+
+    private final Book book;
+    private final Map<String, Node> children;
+
+    private Node(Book book, Map<String, Node> children) {
+      this.book = book;
+      this.children = children;
+    }
+
+    private boolean isEmpty() {
+      return book == null && children.isEmpty();
+    }
+
+    /**
+     * Sets the book at the given segments, copying the nodes along the path.
+     *
+     * @return  the new node, which may be {@link #EMPTY}
+     */
+    private Node with(String[] segments, int depth, Book newBook) {
+      if (depth == segments.length) {
+        return newBook == null && children.isEmpty() ? EMPTY : new Node(newBook, children);
+      }
+      String segment = segments[depth];
+      Node child = children.get(segment);
+      Node newChild = (child == null ? EMPTY : child).with(segments, depth + 1, newBook);
+      Map<String, Node> newChildren = new HashMap<>(children);
+      if (newChild.isEmpty()) {
+        newChildren.remove(segment);
+      } else {
+        newChildren.put(segment, newChild);
+      }
+      Node newNode = new Node(book, newChildren.isEmpty() ? Collections.emptyMap() : newChildren);
+      return newNode.isEmpty() ? EMPTY : newNode;
+    }
+  }
+
+  /**
+   * An immutable snapshot of the registered books.
+   */
+  private static final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(Collections.emptySortedMap(), Node.EMPTY, 0);
+
+    private final SortedMap<String, Book> books;
+    private final Node root;
+    /**
+     * The greatest number of segments in any book name, limiting how far routing descends.
+     */
+    private final int maxDepth;
+
+    private Snapshot(SortedMap<String, Book> books, Node root, int maxDepth) {
+      this.books = books;
+      this.root = root;
+      this.maxDepth = maxDepth;
+    }
+  }
+
+  /**
+   * Splits a book name into its segments, with the root book {@code "/"} having no segments.
+   */
+  private static String[] split(String name) {
+    if ("/".equals(name)) {
+      return new String[0];
+    }
+    // Book names do not end in slash
+    return name.substring(1).split("/", -1);
+  }
+
+  private final Object lock = new Object();
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  public void addListener(Listener listener) {
+    listeners.add(NullArgumentException.checkNotNull(listener, "listener"));
+  }
+
+  public void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  private void fireBookChanged(String name, Book oldBook, Book newBook) {
+    if (oldBook != newBook) {
+      for (Listener listener : listeners) {
+        listener.bookChanged(name, oldBook, newBook);
+      }
+    }
+  }
+
+  /**
+   * Gets all registered books, by name.
+   *
+   * @return  the unmodifiable snapshot of books at the time of the call
+   */
+  public SortedMap<String, Book> getBooks() {
+    return snapshot.books;
+  }
+
+  /**
+   * Gets the book with the given name.
+   *
+   * @return  the book or {@code null} when not registered
+   */
+  public Book getBook(String name) {
+    return snapshot.books.get(name);
+  }
+
+  /**
+   * Adds a book or replaces the book of the same name, such as when the book is reloaded.
+   *
+   * @return  the previous book of the same name or {@code null} when none
+   */
+  public Book register(Book book) {
+    NullArgumentException.checkNotNull(book, "book");
+    String name = book.getName();
+    Book oldBook;
+    synchronized (lock) {
+      oldBook = swap(name, book);
+    }
+    fireBookChanged(name, oldBook, book);
+    return oldBook;
+  }
+
+  /**
+   * Removes a book.
+   *
+   * @return  the book removed or {@code null} when not registered
+   */
+  public Book unregister(String name) {
+    Book oldBook;
+    synchronized (lock) {
+      oldBook = swap(name, null);
+    }
+    if (oldBook != null) {
+      fireBookChanged(name, oldBook, null);
+    }
+    return oldBook;
+  }
+
+  /**
+   * Replaces all books in a single step.  Routing never sees a partial set of the new books.
+   */
+  public void registerAll(Collection<? extends Book> books) {
+    SortedMap<String, Book> newBooks = new TreeMap<>();
+    for (Book book : books) {
+      if (newBooks.put(book.getName(), book) != null) {
+        throw new IllegalArgumentException("Duplicate book: " + book.getName());
+      }
+    }
+    SortedMap<String, Book> oldBooks;
+    synchronized (lock) {
+      oldBooks = snapshot.books;
+      Node root = Node.EMPTY;
+      int maxDepth = 0;
+      for (Book book : newBooks.values()) {
+        String[] segments = split(book.getName());
+        root = root.with(segments, 0, book);
+        maxDepth = Math.max(maxDepth, segments.length);
+      }
+      snapshot = new Snapshot(Collections.unmodifiableSortedMap(newBooks), root, maxDepth);
+    }
+    for (Book oldBook : oldBooks.values()) {
+      if (!newBooks.containsKey(oldBook.getName())) {
+        fireBookChanged(oldBook.getName(), oldBook, null);
+      }
+    }
+    for (Book newBook : newBooks.values()) {
+      String name = newBook.getName();
+      fireBookChanged(name, oldBooks.get(name), newBook);
+    }
+  }
+
+  /**
+   * Replaces the book of the given name in a new snapshot.
+   *
+   * @param  newBook  the new book or {@code null} to remove
+   *
+   * @return  the previous book
+   */
+  private Book swap(String name, Book newBook) {
+    assert Thread.holdsLock(lock);
+    Snapshot old = snapshot;
+    Book oldBook = old.books.get(name);
+    if (oldBook == newBook) {
+      return oldBook;
+    }
+    SortedMap<String, Book> newBooks = new TreeMap<>(old.books);
+    if (newBook == null) {
+      newBooks.remove(name);
+    } else {
+      newBooks.put(name, newBook);
+    }
+    int maxDepth = 0;
+    for (String bookName : newBooks.keySet()) {
+      maxDepth = Math.max(maxDepth, split(bookName).length);
+    }
+    snapshot = new Snapshot(
+        Collections.unmodifiableSortedMap(newBooks),
+        old.root.with(split(name), 0, newBook),
+        maxDepth
+    );
+    return oldBook;
+  }
+
+  /**
+   * Gets the book containing the given servlet path.
+   *
+   * @return  the book with the longest name matching the servlet path or {@code null} when no book matches
+   */
+  public Book getBookForServletPath(String servletPath) {
+    if (!servletPath.startsWith("/")) {
+      throw new IllegalArgumentException("Servlet path does not begin with a slash: " + servletPath);
+    }
+    Snapshot s = snapshot;
+    Node node = s.root;
+    Book best = node.book;
+    int start = 1;
+    for (int depth = 0; depth < s.maxDepth; depth++) {
+      int end = servletPath.indexOf('/', start);
+      if (end == -1) {
+        // The book name must be followed by a slash and the path within the book
+        break;
+      }
+      node = node.children.get(servletPath.substring(start, end));
+      if (node == null) {
+        break;
+      }
+      if (node.book != null) {
+        best = node.book;
+      }
+      start = end + 1;
+    }
+    return best;
+  }
+
+  /**
+   * Gets the page reference for the given servlet path, with the book containing the path.
+   *
+   * @return  the page reference or {@code null} when no book matches
+   *
+   * @see  #getBookForServletPath(java.lang.String)
+   * @see  PageRef#getServletPath()
+   */
+  public PageRef getPageRef(String servletPath) {
+    Book book = getBookForServletPath(servletPath);
+    if (book == null) {
+      return null;
+    }
+    String path = servletPath.substring(book.getPathPrefix().length());
+    return new PageRef(book, path).intern();
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a {@link Book} in a {@link BookRegistry} up-to-date with its properties file.  Changes to the file are
+ * detected by a {@link WatchService} on its directory.  Each change builds a new book, with the same validation
+ * of unused keys as at startup, and only when valid replaces the previous book in the registry in a single
+ * atomic swap.  Invalid changes are logged and the previous book remains in use.
+ *
+ * <p>The {@linkplain BookRegistry#addListener(com.semanticcms.core.model.BookRegistry.Listener) registry listeners},
+ * such as {@link RobotsResolver} and {@link CopyrightResolver}, are notified of each reload.  Pages already built
+ * continue to reference the book they were built with, so these resolvers and {@link SitemapWriter} should find
+ * the current book through {@link BookRegistry#getBook(java.lang.String)}.</p>
+ */
+public final class BookReloader implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(BookReloader.class.getName());
+
+  /**
+   * The time, in milliseconds, without further changes before the properties file is reloaded.
+   */
+  private static final long SETTLE_MILLIS = 250;
+
+  private final BookRegistry registry;
+  private final String name;
+  private final String cvsworkDirectory;
+  private final boolean allowRobots;
+  private final Set<ParentRef> parentRefs;
+  private final Path propertiesFile;
+
+  private final Object lock = new Object();
+
+  /**
+   * The modification time and size of the properties file when last loaded, to skip duplicate events.
+   */
+  private FileTime lastModified;
+  private long size;
+
+  private final WatchService watchService;
+
+  /**
+   * Loads the book and adds it to the registry, then watches the properties file for changes.
+   *
+   * @see  Book#Book(java.lang.String, java.lang.String, boolean, java.util.Set, java.util.Properties)
+   *
+   * @throws  IOException  when the properties file cannot be read or watched
+   * @throws  IllegalStateException  when the properties file has unused keys
+   */
+  public BookReloader(
+      BookRegistry registry,
+      String name,
+      String cvsworkDirectory,
+      boolean allowRobots,
+      Set<ParentRef> parentRefs,
+      Path propertiesFile
+  ) throws IOException, IllegalStateException {
+    this.registry = NullArgumentException.checkNotNull(registry, "registry");
+    this.name = NullArgumentException.checkNotNull(name, "name");
+    this.cvsworkDirectory = NullArgumentException.checkNotNull(cvsworkDirectory, "cvsworkDirectory");
+    this.allowRobots = allowRobots;
+    this.parentRefs = NullArgumentException.checkNotNull(parentRefs, "parentRefs");
+    this.propertiesFile = NullArgumentException.checkNotNull(propertiesFile, "propertiesFile").toAbsolutePath();
+    // Watch before the first load, so no change is missed in-between
+    watchService = this.propertiesFile.getFileSystem().newWatchService();
+    try {
+      this.propertiesFile.getParent().register(
+          watchService,
+          StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY
+      );
+      reload();
+    } catch (IOException | RuntimeException e) {
+      watchService.close();
+      throw e;
+    }
+    Thread thread = new Thread(this::watch, BookReloader.class.getName() + ": " + name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Path getPropertiesFile() {
+    return propertiesFile;
+  }
+
+  /**
+   * Gets the current book from the registry.
+   *
+   * @return  the book or {@code null} when it has since been removed from the registry
+   */
+  public Book getBook() {
+    return registry.getBook(name);
+  }
+
+  /**
+   * Reloads the book when its properties file has changed since last loaded.
+   *
+   * @return  {@code true} when a new book was swapped into the registry
+   *
+   * @throws  IOException  when the properties file cannot be read
+   * @throws  IllegalStateException  when the properties file has unused keys
+   */
+  public boolean reload() throws IOException, IllegalStateException {
+    synchronized (lock) {
+      FileTime newLastModified = Files.getLastModifiedTime(propertiesFile);
+      long newSize = Files.size(propertiesFile);
+      if (newLastModified.equals(lastModified) && newSize == size) {
+        return false;
+      }
+      Properties bookProps = new Properties();
+      try (InputStream in = Files.newInputStream(propertiesFile)) {
+        bookProps.load(in);
+      }
+      Book book = new Book(name, cvsworkDirectory, allowRobots, parentRefs, bookProps);
+      lastModified = newLastModified;
+      size = newSize;
+      registry.register(book);
+      return true;
+    }
+  }
+
+  /**
+   * Checks if any events of a key are for the properties file, then resets the key.
+   *
+   * @throws  ClosedWatchServiceException  when the directory is no longer watched, to end the watcher thread
+   */
+  private boolean isChanged(WatchKey key) throws ClosedWatchServiceException {
+    Path fileName = propertiesFile.getFileName();
+    boolean changed = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (
+          event.kind() == StandardWatchEventKinds.OVERFLOW
+              || fileName.equals(event.context())
+      ) {
+        changed = true;
+      }
+    }
+    if (!key.reset()) {
+      logger.warning(name + ": Directory no longer watched: " + propertiesFile.getParent());
+      throw new ClosedWatchServiceException();
+    }
+    return changed;
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        boolean changed = isChanged(watchService.take());
+        if (changed) {
+          // Wait for the file to settle, so a file being written is not loaded partially
+          WatchKey key;
+          while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+            isChanged(key);
+          }
+          try {
+            if (reload() && logger.isLoggable(Level.INFO)) {
+              logger.info(name + ": Reloaded from " + propertiesFile);
+            }
+          } catch (IOException | RuntimeException e) {
+            if (logger.isLoggable(Level.WARNING)) {
+              logger.log(Level.WARNING, name + ": Unable to reload from " + propertiesFile + ", keeping previous book", e);
+            }
+          }
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      // Closed
+    } catch (InterruptedException e) {
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops watching the properties file.  The current book remains in the registry.
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2016, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2016, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -33,7 +33,7 @@ public class ChildRef implements PageReferrer {
   private final PageRef pageRef;
 
   public ChildRef(PageRef pageRef) {
-    this.pageRef = NullArgumentException.checkNotNull(pageRef, "pageRef");
+    this.pageRef = NullArgumentException.checkNotNull(pageRef, "pageRef").intern();
   }
 
   /**
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2016, 2019, 2022  AO Industries, Inc.
+ * Copyright (C) 2016, 2019, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -57,9 +57,9 @@ public class Copyright {
     ) {
       throw new IllegalArgumentException("At least one of rightsHolder, rights, or dateCopyrighted required");
     }
-    this.rightsHolder = rightsHolder;
-    this.rights = rights;
-    this.dateCopyrighted = dateCopyrighted;
+    this.rightsHolder = StringPool.intern(rightsHolder);
+    this.rights = StringPool.intern(rights);
+    this.dateCopyrighted = StringPool.intern(dateCopyrighted);
   }
 
   @Override
@@ -156,10 +156,12 @@ public class Copyright {
             && (dateCopyrighted == null || dateCopyrighted.isEmpty());
   }
 
-  /*
+  /**
    * Inherits missing fields from the given parent.
+   *
+   * @return  this copyright when no fields are inherited, the parent when it matches the result,
+   *          or a new copyright
    */
-  /*
   public Copyright inheritFieldsFrom(Copyright parent) {
     String newRightsHolder    = this.rightsHolder    != null ? this.rightsHolder    : parent.rightsHolder;
     String newRights          = this.rights          != null ? this.rights          : parent.rights;
@@ -175,5 +177,4 @@ public class Copyright {
     // Create a new object
     return new Copyright(newRightsHolder, newRights, newDateCopyrighted);
   }
-   */
 }
@@ -0,0 +1,191 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves and memoizes the effective {@link Copyright} and {@link Author authors} of pages.
+ *
+ * <p>A page without a copyright, or with only some of its fields, inherits the missing fields from its parents
+ * in the same book, or from the {@linkplain Book#getCopyright() book} when the page has no parents in the same
+ * book.  A page without any authors inherits them in the same way, from its parents or the
+ * {@linkplain Book#getAuthors() book}.  All the parents must agree on what is inherited.</p>
+ *
+ * <p>Equal results are shared between pages.  When a page is replaced, it must be
+ * {@linkplain #invalidate(com.semanticcms.core.model.PageRef) invalidated}, which also invalidates every page
+ * that inherited from it.  When added as a {@link BookRegistry.Listener}, all pages of a book are invalidated
+ * when the book is reloaded.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class CopyrightResolver implements BookRegistry.Listener {
+
+  private final WeakInterner<Copyright> copyrights = new WeakInterner<>();
+  private final WeakInterner<Set<Author>> authorSets = new WeakInterner<>();
+
+  private final Function<? super String, ? extends Book> books;
+
+  private final InheritanceResolver<Optional<Copyright>> copyrightResolver;
+  private final InheritanceResolver<Set<Author>> authorsResolver;
+
+  /**
+   * @param  pages  finds the current version of pages, returning {@code null} when not found
+   * @param  books  finds the current version of books by name, such as {@link BookRegistry#getBook(java.lang.String)},
+   *                returning {@code null} when not found.  When {@code null}, uses the book of each page's
+   *                {@link PageRef}.
+   */
+  public CopyrightResolver(Function<? super PageRef, ? extends Page> pages, Function<? super String, ? extends Book> books) {
+    this.books = books;
+    copyrightResolver = new InheritanceResolver<Optional<Copyright>>(pages) {
+      @Override
+      Optional<Copyright> compute(Page page, List<Optional<Copyright>> parentValues) {
+        Copyright pageCopyright = page.getCopyright();
+        if (pageCopyright != null && pageCopyright.hasAllFields()) {
+          return Optional.of(copyrights.intern(pageCopyright));
+        }
+        Copyright inherited;
+        if (parentValues.isEmpty()) {
+          inherited = getBook(page).getCopyright();
+        } else {
+          inherited = getSame(page, parentValues, "copyright").orElse(null);
+        }
+        Copyright copyright;
+        if (pageCopyright == null) {
+          copyright = inherited;
+        } else if (inherited == null) {
+          copyright = pageCopyright;
+        } else {
+          copyright = pageCopyright.inheritFieldsFrom(inherited);
+        }
+        return Optional.ofNullable(copyrights.intern(copyright));
+      }
+    };
+    authorsResolver = new InheritanceResolver<Set<Author>>(pages) {
+      @Override
+      Set<Author> compute(Page page, List<Set<Author>> parentValues) {
+        Set<Author> authors = page.getAuthors();
+        if (authors.isEmpty()) {
+          if (parentValues.isEmpty()) {
+            authors = getBook(page).getAuthors();
+          } else {
+            authors = getSame(page, parentValues, "authors");
+          }
+        }
+        return authorSets.intern(authors);
+      }
+    };
+  }
+
+  /**
+   * Inherits from the book of each page's {@link PageRef}.
+   *
+   * @param  pages  finds the current version of pages, returning {@code null} when not found
+   */
+  public CopyrightResolver(Function<? super PageRef, ? extends Page> pages) {
+    this(pages, null);
+  }
+
+  private Book getBook(Page page) throws IllegalStateException {
+    PageRef pageRef = page.getPageRef();
+    Book book = books == null ? pageRef.getBook() : books.apply(pageRef.getBookName());
+    if (book == null) {
+      throw new IllegalStateException("Book not found: " + pageRef.getBookName());
+    }
+    return book;
+  }
+
+  /**
+   * Gets the value inherited from parents, which must all be equal.
+   */
+  private static <V> V getSame(Page page, List<V> parentValues, String what) throws IllegalStateException {
+    V value = parentValues.get(0);
+    for (int i = 1, size = parentValues.size(); i < size; i++) {
+      if (!Objects.equals(value, parentValues.get(i))) {
+        throw new IllegalStateException("Mismatched " + what + " inherited from different parents: " + page.getPageRef());
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Gets the effective copyright of a page.
+   *
+   * @return  the copyright or {@code null} when none
+   *
+   * @throws  IllegalStateException  when inherited from a book that is not available,
+   *                                 or when different copyrights are inherited from different parents
+   */
+  public Copyright getCopyright(Page page) throws IllegalStateException {
+    return copyrightResolver.resolve(page).orElse(null);
+  }
+
+  /**
+   * Gets the effective authors of a page.
+   *
+   * @return  the unmodifiable authors or an empty set when none
+   *
+   * @throws  IllegalStateException  when inherited from a book that is not available,
+   *                                 or when different authors are inherited from different parents
+   */
+  public Set<Author> getAuthors(Page page) throws IllegalStateException {
+    return authorsResolver.resolve(page);
+  }
+
+  /**
+   * Invalidates a page, such as when it is replaced, along with every page that inherited from it.
+   */
+  public void invalidate(PageRef pageRef) {
+    copyrightResolver.invalidate(pageRef);
+    authorsResolver.invalidate(pageRef);
+  }
+
+  /**
+   * Invalidates all pages of a book, such as when the book is reloaded.
+   */
+  public void invalidateBook(String bookName) {
+    copyrightResolver.invalidateBook(bookName);
+    authorsResolver.invalidateBook(bookName);
+  }
+
+  /**
+   * Invalidates all pages.
+   */
+  public void invalidateAll() {
+    copyrightResolver.invalidateAll();
+    authorsResolver.invalidateAll();
+  }
+
+  /**
+   * Invalidates all pages of a book when it is added, reloaded, or removed.
+   */
+  @Override
+  public void bookChanged(String name, Book oldBook, Book newBook) {
+    invalidateBook(name);
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2015, 2016, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2015, 2016, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,6 +24,8 @@
 package com.semanticcms.core.model;
 
 import com.aoapps.lang.xml.XmlUtils;
+import java.io.IOException;
+import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Objects;
 
@@ -142,33 +144,8 @@ public abstract class Element extends Node {
       synchronized (lock) {
         if (id == null) {
           if (page != null) {
-            Map<String, Element> elementsById = page.getElementsById();
             // Generate the ID now
-            String template = getElementIdTemplate();
-            if (template == null) {
-              throw new IllegalStateException("null from getElementIdTemplate");
-            }
-            StringBuilder possId = XmlUtils.generateId(template, getDefaultIdPrefix());
-            int possIdLen = possId.length();
-            // Find an unused identifier
-            for (int i = 1; i <= Integer.MAX_VALUE; i++) {
-              if (i == Integer.MAX_VALUE) {
-                throw new IllegalStateException("ID not generated");
-              }
-              if (i > 1) {
-                possId.append('-').append(i);
-              }
-              String newId = possId.toString();
-              if (
-                  elementsById == null
-                      || !elementsById.containsKey(newId)
-              ) {
-                setId(newId, true);
-                break;
-              }
-              // Reset for next element number to check
-              possId.setLength(possIdLen);
-            }
+            setId(generateId(page.getElementsById()), true);
           }
         }
       }
@@ -176,6 +153,61 @@ public abstract class Element extends Node {
     return id;
   }
 
+  /**
+   * Generates a new ID that is not already used within the given elements.
+   *
+   * @param  elementsById  the elements of the page, indexed by id
+   */
+  private String generateId(Map<String, Element> elementsById) {
+    assert Thread.holdsLock(lock);
+    String template = getElementIdTemplate();
+    if (template == null) {
+      throw new IllegalStateException("null from getElementIdTemplate");
+    }
+    StringBuilder possId = XmlUtils.generateId(template, getDefaultIdPrefix());
+    int possIdLen = possId.length();
+    // Find an unused identifier
+    for (int i = 1; i < Integer.MAX_VALUE; i++) {
+      if (i > 1) {
+        possId.append('-').append(i);
+      }
+      String newId = possId.toString();
+      if (
+          elementsById == null
+              || !elementsById.containsKey(newId)
+      ) {
+        return newId;
+      }
+      // Reset for next element number to check
+      possId.setLength(possIdLen);
+    }
+    throw new IllegalStateException("ID not generated");
+  }
+
+  /**
+   * Generates the ID, when missing, as part of the batch ID assignment in {@link Page#freeze()}.
+   * The caller already holds the page lock and will add the element to its own indexes, so
+   * {@link Page#onElementIdSet(com.semanticcms.core.model.Element, boolean)} is not called.
+   *
+   * @param  elementsById  the live, modifiable elements of the page, indexed by id
+   *
+   * @return  the newly generated ID or {@code null} when the element already had an ID
+   */
+  String assignGeneratedId(Map<String, Element> elementsById) {
+    synchronized (lock) {
+      if (id != null) {
+        return null;
+      }
+      checkNotFrozen();
+      String newId = generateId(elementsById);
+      if (!XmlUtils.isValidName(newId)) {
+        throw new IllegalArgumentException("Invalid id: " + newId);
+      }
+      id = newId;
+      return newId;
+    }
+  }
+
   public void setId(String id) {
     setId(id, false);
   }
@@ -224,7 +256,7 @@ public abstract class Element extends Node {
             || !er.getPageRef().equals(pageRef)
             || !er.getId().equals(i)
     ) {
-      er = new ElementRef(pageRef, i);
+      er = new ElementRef(pageRef, i).intern();
       elementRef = er;
     }
     return er;
@@ -277,6 +309,23 @@ public abstract class Element extends Node {
     return elementKey;
   }
 
+  @Override
+  void addChildElement(Element childElement, ElementWriter elementWriter, long elementKey) {
+    super.addChildElement(childElement, elementWriter, elementKey);
+    childElement.setParentElement(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Elements also include their id.</p>
+   */
+  @Override
+  protected void updateDigest(MessageDigest md) throws IOException {
+    super.updateDigest(md);
+    updateDigest(md, id);
+  }
+
   /**
    * When hidden, an element is not added to common elements like navigation trees.
    * By default, elements are not hidden.
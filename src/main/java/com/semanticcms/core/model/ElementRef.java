@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2016, 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,9 +24,8 @@
 package com.semanticcms.core.model;
 
 import com.aoapps.lang.NullArgumentException;
+import com.aoapps.lang.io.Encoder;
 import com.aoapps.lang.xml.XmlUtils;
-import com.aoapps.net.URIDecoder;
-import com.aoapps.net.URIEncoder;
 import java.io.IOException;
 
 /**
@@ -42,6 +41,11 @@ public class ElementRef implements Comparable<ElementRef> {
 
   private final String id;
 
+  /**
+   * Interns {@link ElementRef} instances on pages that are not associated with a {@link Book}.
+   */
+  private static final WeakInterner<ElementRef> bookless = new WeakInterner<>();
+
   public ElementRef(PageRef pageRef, String id) {
     this.pageRef = NullArgumentException.checkNotNull(pageRef, "pageRef");
     this.id = NullArgumentException.checkNotNull(id, "id");
@@ -78,9 +82,33 @@ public class ElementRef implements Comparable<ElementRef> {
             && id.equals(other.id);
   }
 
+  private int hash; // Cached, zero when not yet computed
+
   @Override
   public int hashCode() {
-    return pageRef.hashCode() * 31 + id.hashCode();
+    int h = hash;
+    if (h == 0) {
+      h = pageRef.hashCode() * 31 + id.hashCode();
+      hash = h;
+    }
+    return h;
+  }
+
+  /**
+   * Gets the canonical instance equal to this reference, on the canonical {@link PageRef} and with its hash
+   * and servlet path already computed.
+   *
+   * @return  the canonical instance, which may be this instance
+   *
+   * @see  PageRef#intern()
+   */
+  public ElementRef intern() {
+    PageRef canonicalPageRef = pageRef.intern();
+    ElementRef er = (canonicalPageRef == pageRef) ? this : new ElementRef(canonicalPageRef, id);
+    er.hashCode();
+    er.getServletPath();
+    Book book = canonicalPageRef.getBook();
+    return (book == null ? bookless : book.elementRefs).intern(er);
   }
 
   /**
@@ -112,8 +140,7 @@ public class ElementRef implements Comparable<ElementRef> {
     String sp = servletPath;
     if (sp == null) {
       String page = pageRef.getServletPath();
-      // TODO: encodeIRIComponent to do this in one shot?
-      String idIri = URIDecoder.decodeURI(URIEncoder.encodeURIComponent(id));
+      String idIri = IriEncoder.encodeIriComponent(id);
       int sbLen =
           page.length()
               + 1 // '#'
@@ -136,15 +163,29 @@ public class ElementRef implements Comparable<ElementRef> {
    *
    * @see #getServletPath()
    */
-  // TODO: Encoder variant, other classes, too, see which uses of getServletPath can be streamed
   public void appendServletPath(Appendable out) throws IOException {
-    pageRef.appendServletPath(out);
-    out.append('#');
-    // TODO: encodeIRIComponent to do this in one shot?
-    URIDecoder.decodeURI(
-        URIEncoder.encodeURIComponent(id),
-        out
-    );
+    appendServletPath(null, out);
+  }
+
+  /**
+   * Appends the combination of the book, the path, and element anchor that refers to the
+   * element resource within the web application, encoded for the output context.
+   *
+   * <p>The element anchor is not URL-encoded - Unicode characters are verbatim.</p>
+   *
+   * @param  encoder  the optional encoder for the output context, such as for an HTML attribute
+   *
+   * @see #getServletPath()
+   */
+  public void appendServletPath(Encoder encoder, Appendable out) throws IOException {
+    String sp = servletPath;
+    if (sp != null) {
+      IriEncoder.append(sp, encoder, out);
+    } else {
+      pageRef.appendServletPath(encoder, out);
+      IriEncoder.append('#', encoder, out);
+      IriEncoder.encodeIriComponent(id, encoder, out);
+    }
   }
 
   /**
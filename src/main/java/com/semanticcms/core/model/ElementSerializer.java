@@ -0,0 +1,54 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads the state specific to one type of {@link Element} for {@link PageCodec}.
+ * The codec itself handles everything declared in {@link Element} and {@link Node}, including
+ * the id, properties, page links, body, and child elements.
+ *
+ * @param  <E>  the exact type of element handled
+ */
+public interface ElementSerializer<E extends Element> {
+
+  /**
+   * Writes the state that is specific to this type of element.
+   */
+  void writeElement(E element, DataOutput out) throws IOException;
+
+  /**
+   * Creates a new, unfrozen element from the state written by {@link #writeElement(com.semanticcms.core.model.Element, java.io.DataOutput)}.
+   */
+  E readElement(DataInput in) throws IOException;
+
+  /**
+   * Gets the writer used to render the element within the body of its parent node.
+   * Element writers are not serialized, so they must be able to be recreated from the element itself.
+   */
+  ElementWriter getElementWriter(E element);
+}
@@ -0,0 +1,199 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves and memoizes a value that a page inherits from its parents in the same book when not set on the
+ * page itself.  When a page has no parents in the same book, the value is typically inherited from the book.
+ *
+ * <p>Parent pages that cannot be found, or that are already being resolved, in the case of a cycle, are
+ * ignored.  Each resolved page is recorded as a dependent of its parents, so invalidating a page also
+ * invalidates everything that inherited from it.</p>
+ *
+ * <p>A value that ignored a parent already being resolved depends on which page of the cycle was resolved
+ * first, so it is returned but not cached.  Pages in or inheriting from a parent cycle, which
+ * {@link PageVerifier} reports, are resolved again on each call, always from the page requested.</p>
+ *
+ * <p>Lookups of resolved values are lock-free.  A value computed concurrently with an invalidation is returned but not cached.</p>
+ */
+abstract class InheritanceResolver<V> {
+
+  private final Function<? super PageRef, ? extends Page> pages;
+
+  private final Map<PageRef, V> values = new ConcurrentHashMap<>();
+
+  /**
+   * The pages that inherited from each page.
+   */
+  private final Map<PageRef, Set<PageRef>> dependents = new ConcurrentHashMap<>();
+
+  private final Object lock = new Object();
+
+  /**
+   * Incremented on every invalidation, while holding the lock.
+   */
+  private volatile long version;
+
+  /**
+   * The pages being resolved by the current thread.
+   */
+  private static class Resolving {
+
+    private final Set<PageRef> inProgress = new HashSet<>();
+
+    /**
+     * The number of parents ignored because already being resolved, which makes every value being
+     * resolved at the time dependent on where resolution started.
+     */
+    private int skipped;
+  }
+
+  private final ThreadLocal<Resolving> resolving = ThreadLocal.withInitial(Resolving::new);
+
+  /**
+   * @param  pages  finds the current version of pages, returning {@code null} when not found
+   */
+  InheritanceResolver(Function<? super PageRef, ? extends Page> pages) {
+    this.pages = NullArgumentException.checkNotNull(pages, "pages");
+  }
+
+  /**
+   * Computes the value for a page.
+   *
+   * @param  parentValues  the resolved values of the parents in the same book, in the order declared,
+   *                       or an empty list when the page has no parents in the same book
+   */
+  abstract V compute(Page page, List<V> parentValues);
+
+  /**
+   * Gets the resolved value for a page.
+   */
+  V resolve(Page page) {
+    PageRef pageRef = page.getPageRef();
+    V value = values.get(pageRef);
+    if (value != null) {
+      return value;
+    }
+    long startVersion = version;
+    Resolving r = resolving.get();
+    Set<PageRef> inProgress = r.inProgress;
+    if (!inProgress.add(pageRef)) {
+      throw new AssertionError("Page already being resolved: " + pageRef);
+    }
+    int startSkipped = r.skipped;
+    boolean cacheable;
+    try {
+      List<V> parentValues = Collections.emptyList();
+      String bookName = pageRef.getBookName();
+      for (ParentRef parentRef : page.getParentRefs()) {
+        PageRef parentPageRef = parentRef.getPageRef();
+        if (bookName.equals(parentPageRef.getBookName())) {
+          if (inProgress.contains(parentPageRef)) {
+            r.skipped++;
+            continue;
+          }
+          Page parent = pages.apply(parentPageRef);
+          if (parent != null) {
+            dependents.computeIfAbsent(parentPageRef, k -> ConcurrentHashMap.newKeySet()).add(pageRef);
+            if (parentValues.isEmpty()) {
+              parentValues = new ArrayList<>();
+            }
+            parentValues.add(resolve(parent));
+          }
+        }
+      }
+      value = NullArgumentException.checkNotNull(compute(page, parentValues), "value");
+      cacheable = r.skipped == startSkipped;
+    } finally {
+      inProgress.remove(pageRef);
+      if (inProgress.isEmpty()) {
+        r.skipped = 0;
+      }
+    }
+    if (cacheable) {
+      synchronized (lock) {
+        if (version == startVersion) {
+          V existing = values.putIfAbsent(pageRef, value);
+          if (existing != null) {
+            value = existing;
+          }
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Invalidates a page, such as when it is replaced, along with every page that inherited from it.
+   */
+  void invalidate(PageRef pageRef) {
+    synchronized (lock) {
+      version++;
+      invalidateRecursive(pageRef);
+    }
+  }
+
+  private void invalidateRecursive(PageRef pageRef) {
+    assert Thread.holdsLock(lock);
+    values.remove(pageRef);
+    Set<PageRef> pageDependents = dependents.remove(pageRef);
+    if (pageDependents != null) {
+      for (PageRef dependent : pageDependents) {
+        invalidateRecursive(dependent);
+      }
+    }
+  }
+
+  /**
+   * Invalidates all pages of a book, such as when the book is reloaded.
+   */
+  void invalidateBook(String bookName) {
+    synchronized (lock) {
+      version++;
+      values.keySet().removeIf(pageRef -> pageRef.getBookName().equals(bookName));
+      dependents.keySet().removeIf(pageRef -> pageRef.getBookName().equals(bookName));
+    }
+  }
+
+  /**
+   * Invalidates all pages.
+   */
+  void invalidateAll() {
+    synchronized (lock) {
+      version++;
+      values.clear();
+      dependents.clear();
+    }
+  }
+}
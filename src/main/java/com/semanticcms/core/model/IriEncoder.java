@@ -0,0 +1,200 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.io.Encoder;
+import java.io.IOException;
+
+/**
+ * Encodes IRI components in a single pass: ASCII characters that are not unreserved in a URI component
+ * are percent-encoded, while non-ASCII characters are left verbatim.  For XML names, such as element ids,
+ * this is equivalent to {@link com.aoapps.net.URIEncoder#encodeURIComponent(java.lang.String)} followed by
+ * {@link com.aoapps.net.URIDecoder#decodeURI(java.lang.String)}, without the intermediate strings.
+ *
+ * <p>Also encodes whole URIs from any {@link CharSequence}, for output that must be ASCII, such as sitemaps.</p>
+ */
+final class IriEncoder {
+
+  /** Make no instances. */
+  private IriEncoder() {
+    throw new AssertionError();
+  }
+
+  private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+  /**
+   * Checks if a character is written verbatim: ASCII letters and digits, the characters
+   * unreserved in {@code encodeURIComponent}, and all non-ASCII characters.
+   */
+  static boolean isVerbatim(char ch) {
+    return
+        (ch >= 'a' && ch <= 'z')
+            || (ch >= 'A' && ch <= 'Z')
+            || (ch >= '0' && ch <= '9')
+            || ch == '-'
+            || ch == '_'
+            || ch == '.'
+            || ch == '!'
+            || ch == '~'
+            || ch == '*'
+            || ch == '\''
+            || ch == '('
+            || ch == ')'
+            || ch > 0x7f;
+  }
+
+  /**
+   * Encodes an IRI component.
+   *
+   * @return  the encoded component, which is the same string when nothing needs encoding
+   */
+  static String encodeIriComponent(String value) {
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      if (!isVerbatim(value.charAt(i))) {
+        StringBuilder sb = new StringBuilder(len + 16);
+        try {
+          encodeIriComponent(value, null, sb);
+        } catch (IOException e) {
+          throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return sb.toString();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Encodes an IRI component, writing directly to the given output.
+   *
+   * @param  encoder  the optional encoder for the output context, such as for an HTML attribute
+   */
+  static void encodeIriComponent(CharSequence value, Encoder encoder, Appendable out) throws IOException {
+    int len = value.length();
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      char ch = value.charAt(i);
+      if (!isVerbatim(ch)) {
+        if (start < i) {
+          append(value, start, i, encoder, out);
+        }
+        // All encoded characters are ASCII, so one percent-encoded byte each
+        append('%', encoder, out);
+        append(HEX_CHARS[(ch >> 4) & 0xf], encoder, out);
+        append(HEX_CHARS[ch & 0xf], encoder, out);
+        start = i + 1;
+      }
+    }
+    if (start < len) {
+      append(value, start, len, encoder, out);
+    }
+  }
+
+  /**
+   * Checks if an ASCII character is allowed in a URI: the unreserved and reserved characters, and the percent
+   * sign of any existing percent-encoding.
+   */
+  private static boolean isUriChar(char ch) {
+    return
+        (ch >= 'a' && ch <= 'z')
+            || (ch >= 'A' && ch <= 'Z')
+            || (ch >= '0' && ch <= '9')
+            || "-._~:/?#[]@!$&'()*+,;=%".indexOf(ch) != -1;
+  }
+
+  private static void appendPercent(int b, Appendable out) throws IOException {
+    out.append('%').append(HEX_CHARS[(b >> 4) & 0xf]).append(HEX_CHARS[b & 0xf]);
+  }
+
+  /**
+   * Encodes a URI, writing directly to the given output.  Reserved characters and existing percent-encoding are
+   * left as-is, while all other characters not allowed in a URI are percent-encoded as UTF-8.  This is equivalent
+   * to {@link com.aoapps.net.URIEncoder#encodeURI(java.lang.String, java.lang.Appendable)}, without requiring a
+   * string.
+   */
+  static void encodeUri(CharSequence value, Appendable out) throws IOException {
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      if (ch <= 0x7f) {
+        if (isUriChar(ch)) {
+          out.append(ch);
+        } else {
+          appendPercent(ch, out);
+        }
+      } else {
+        int codePoint = Character.codePointAt(value, i);
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+          i++;
+        } else if (Character.isSurrogate(ch)) {
+          // Unpaired surrogate
+          codePoint = 0xfffd;
+        }
+        if (codePoint <= 0x7ff) {
+          appendPercent(0xc0 | (codePoint >> 6), out);
+        } else if (codePoint <= 0xffff) {
+          appendPercent(0xe0 | (codePoint >> 12), out);
+          appendPercent(0x80 | ((codePoint >> 6) & 0x3f), out);
+        } else {
+          appendPercent(0xf0 | (codePoint >> 18), out);
+          appendPercent(0x80 | ((codePoint >> 12) & 0x3f), out);
+          appendPercent(0x80 | ((codePoint >> 6) & 0x3f), out);
+        }
+        appendPercent(0x80 | (codePoint & 0x3f), out);
+      }
+    }
+  }
+
+  /**
+   * Appends through an encoder, if any.
+   */
+  static void append(CharSequence value, int start, int end, Encoder encoder, Appendable out) throws IOException {
+    if (encoder == null) {
+      out.append(value, start, end);
+    } else {
+      encoder.append(value, start, end, out);
+    }
+  }
+
+  /**
+   * Appends through an encoder, if any.
+   */
+  static void append(CharSequence value, Encoder encoder, Appendable out) throws IOException {
+    if (encoder == null) {
+      out.append(value);
+    } else {
+      encoder.append(value, out);
+    }
+  }
+
+  /**
+   * Appends through an encoder, if any.
+   */
+  static void append(char ch, Encoder encoder, Appendable out) throws IOException {
+    if (encoder == null) {
+      out.append(ch);
+    } else {
+      encoder.append(ch, out);
+    }
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.lang.ref.Cleaner;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The totals of the {@link PageStatistics} of all frozen pages currently in memory, for the whole JVM and
+ * per book.  Pages are added as they are frozen and removed once garbage collected, so the totals are
+ * cheap enough to be read as periodic metrics.
+ *
+ * <p>Totals are updated without locking, so a snapshot taken while pages are being frozen or collected may
+ * be slightly inconsistent between its values.  The totals of a book are removed once it has no pages
+ * remaining.</p>
+ *
+ * <p>The statistics are disabled by default, and may be enabled by setting the system property
+ * {@code com.semanticcms.core.model.ModelStatistics.enabled} to {@code true} or by calling
+ * {@link #setEnabled(boolean)}.  While enabled, pages are tracked by a {@link Cleaner}, with a thread per JVM.
+ * A web application that enables the statistics should disable them when stopped, so the thread ends once its
+ * remaining pages are collected instead of outliving the application's class loader.</p>
+ */
+public final class ModelStatistics {
+
+  private static class Counters {
+
+    private final LongAdder pageCount = new LongAdder();
+    private final LongAdder elementCount = new LongAdder();
+    private final LongAdder bodyChars = new LongAdder();
+    private final LongAdder elementWriterCount = new LongAdder();
+    private final LongAdder propertyCount = new LongAdder();
+    private final LongAdder pageLinkCount = new LongAdder();
+    private final LongAdder referenceCount = new LongAdder();
+    private final LongAdder estimatedBytes = new LongAdder();
+    private final Map<String, LongAdder> elementCounts = new ConcurrentHashMap<>();
+
+    private void add(PageStatistics stats, int sign) {
+      pageCount.add(sign);
+      elementCount.add((long) sign * stats.getElementCount());
+      bodyChars.add(sign * stats.getBodyChars());
+      elementWriterCount.add((long) sign * stats.getElementWriterCount());
+      propertyCount.add((long) sign * stats.getPropertyCount());
+      pageLinkCount.add((long) sign * stats.getPageLinkCount());
+      referenceCount.add((long) sign * stats.getReferenceCount());
+      estimatedBytes.add(sign * stats.getEstimatedBytes());
+      for (Map.Entry<String, Integer> entry : stats.getElementCounts().entrySet()) {
+        elementCounts.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add((long) sign * entry.getValue());
+      }
+    }
+
+    private ModelStatistics snapshot() {
+      Map<String, Long> counts = new TreeMap<>();
+      for (Map.Entry<String, LongAdder> entry : elementCounts.entrySet()) {
+        long count = entry.getValue().sum();
+        if (count != 0) {
+          counts.put(entry.getKey(), count);
+        }
+      }
+      return new ModelStatistics(
+          pageCount.sum(),
+          Collections.unmodifiableMap(counts),
+          elementCount.sum(),
+          bodyChars.sum(),
+          elementWriterCount.sum(),
+          propertyCount.sum(),
+          pageLinkCount.sum(),
+          referenceCount.sum(),
+          estimatedBytes.sum()
+      );
+    }
+  }
+
+  /**
+   * The totals and the cleaner tracking their pages, replaced when re-enabled so that pages registered
+   * before being disabled do not affect the new totals.
+   */
+  private static class Tracker {
+
+    private final Counters total = new Counters();
+
+    /**
+     * The totals per book, only updated within {@link Map#compute(java.lang.Object, java.util.function.BiFunction)}
+     * so a book is never removed while a page is being added.
+     */
+    private final Map<String, Counters> books = new ConcurrentHashMap<>();
+
+    private final Cleaner cleaner = Cleaner.create();
+
+    private void add(String bookName, PageStatistics stats) {
+      books.compute(bookName, (k, counters) -> {
+        if (counters == null) {
+          counters = new Counters();
+        }
+        counters.add(stats, 1);
+        return counters;
+      });
+    }
+
+    private void remove(String bookName, PageStatistics stats) {
+      books.computeIfPresent(bookName, (k, counters) -> {
+        counters.add(stats, -1);
+        return counters.pageCount.sum() == 0 ? null : counters;
+      });
+    }
+  }
+
+  /**
+   * The current tracker or {@code null} when disabled.
+   */
+  private static volatile Tracker tracker =
+      Boolean.getBoolean(ModelStatistics.class.getName() + ".enabled") ? new Tracker() : null;
+
+  /**
+   * Enables or disables the statistics.  While disabled, newly frozen pages are not tracked and all totals
+   * are zero.  Re-enabling starts new totals from zero, counting only pages frozen from then on.
+   *
+   * <p>Disabling releases the {@link Cleaner}, so its thread ends once all pages tracked so far have been
+   * garbage collected.  A web application should disable the statistics when stopped.</p>
+   */
+  public static synchronized void setEnabled(boolean enabled) {
+    if (enabled) {
+      if (tracker == null) {
+        tracker = new Tracker();
+      }
+    } else {
+      tracker = null;
+    }
+  }
+
+  public static boolean isEnabled() {
+    return tracker != null;
+  }
+
+  /**
+   * Adds a newly frozen page to the totals, when enabled, removing it again once the page is garbage collected.
+   */
+  static void register(Page page, PageStatistics stats) {
+    Tracker t = tracker;
+    if (t == null) {
+      return;
+    }
+    PageRef pageRef = page.getPageRef();
+    String bookName = pageRef == null ? null : pageRef.getBookName();
+    t.total.add(stats, 1);
+    if (bookName != null) {
+      t.add(bookName, stats);
+    }
+    // Must not capture the page itself
+    t.cleaner.register(page, () -> {
+      t.total.add(stats, -1);
+      if (bookName != null) {
+        t.remove(bookName, stats);
+      }
+    });
+  }
+
+  /**
+   * Gets the totals of all pages in the JVM.
+   *
+   * @return  the totals, which are all zero when disabled
+   */
+  public static ModelStatistics getTotal() {
+    Tracker t = tracker;
+    return t == null ? new Counters().snapshot() : t.total.snapshot();
+  }
+
+  /**
+   * Gets the totals of all pages in the given book.
+   *
+   * @return  the totals, which are all zero when there are no pages in the book or when disabled
+   */
+  public static ModelStatistics getBook(String bookName) {
+    Tracker t = tracker;
+    Counters counters = t == null ? null : t.books.get(bookName);
+    return counters == null ? new Counters().snapshot() : counters.snapshot();
+  }
+
+  /**
+   * Gets the names of all books that currently have pages, in order.
+   */
+  public static Set<String> getBookNames() {
+    Tracker t = tracker;
+    return t == null ? Collections.emptySet() : Collections.unmodifiableSet(new TreeSet<>(t.books.keySet()));
+  }
+
+  private final long pageCount;
+  private final Map<String, Long> elementCounts;
+  private final long elementCount;
+  private final long bodyChars;
+  private final long elementWriterCount;
+  private final long propertyCount;
+  private final long pageLinkCount;
+  private final long referenceCount;
+  private final long estimatedBytes;
+
+  private ModelStatistics(
+      long pageCount,
+      Map<String, Long> elementCounts,
+      long elementCount,
+      long bodyChars,
+      long elementWriterCount,
+      long propertyCount,
+      long pageLinkCount,
+      long referenceCount,
+      long estimatedBytes
+  ) {
+    this.pageCount = pageCount;
+    this.elementCounts = elementCounts;
+    this.elementCount = elementCount;
+    this.bodyChars = bodyChars;
+    this.elementWriterCount = elementWriterCount;
+    this.propertyCount = propertyCount;
+    this.pageLinkCount = pageLinkCount;
+    this.referenceCount = referenceCount;
+    this.estimatedBytes = estimatedBytes;
+  }
+
+  public long getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * @see  PageStatistics#getElementCounts()
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, Long> getElementCounts() {
+    return elementCounts;
+  }
+
+  /**
+   * @see  PageStatistics#getElementCount()
+   */
+  public long getElementCount() {
+    return elementCount;
+  }
+
+  /**
+   * @see  PageStatistics#getBodyChars()
+   */
+  public long getBodyChars() {
+    return bodyChars;
+  }
+
+  /**
+   * @see  PageStatistics#getElementWriterCount()
+   */
+  public long getElementWriterCount() {
+    return elementWriterCount;
+  }
+
+  /**
+   * @see  PageStatistics#getPropertyCount()
+   */
+  public long getPropertyCount() {
+    return propertyCount;
+  }
+
+  /**
+   * @see  PageStatistics#getPageLinkCount()
+   */
+  public long getPageLinkCount() {
+    return pageLinkCount;
+  }
+
+  /**
+   * @see  PageStatistics#getReferenceCount()
+   */
+  public long getReferenceCount() {
+    return referenceCount;
+  }
+
+  /**
+   * @see  PageStatistics#getEstimatedBytes()
+   */
+  public long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "ModelStatistics(pages=" + pageCount
+        + ", elements=" + elementCount
+        + ", bodyChars=" + bodyChars
+        + ", elementWriters=" + elementWriterCount
+        + ", properties=" + propertyCount
+        + ", pageLinks=" + pageLinkCount
+        + ", references=" + referenceCount
+        + ", estimatedBytes=" + estimatedBytes + ')';
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,10 +29,16 @@ import com.aoapps.io.buffer.EmptyResult;
 import com.aoapps.lang.Freezable;
 import com.aoapps.lang.FrozenException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -132,6 +138,28 @@ public abstract class Node implements Freezable<Node> {
     return this;
   }
 
+  /**
+   * Sets all the state of a new node at once, before it is frozen.
+   * The given collections are used directly and must not be modified by the caller.
+   *
+   * @see  PageBuilder#build()
+   */
+  void init(
+      Map<String, Object> properties,
+      List<Element> childElements,
+      Map<Long, ElementWriter> elementWriters,
+      Set<PageRef> pageLinks,
+      BufferResult body
+  ) {
+    assert Thread.holdsLock(lock);
+    checkNotFrozen();
+    this.properties = properties;
+    this.childElements = childElements;
+    this.elementWriters = elementWriters;
+    this.pageLinks = pageLinks;
+    this.body = body;
+  }
+
   // TODO: Should all uses of checkNotFrozen be synchronized on lock?
   // TODO: As-is, there are many small race conditions between checkNotFrozen and setting the value.
   protected void checkNotFrozen() throws FrozenException {
@@ -176,7 +204,7 @@ public abstract class Node implements Freezable<Node> {
       } else if (properties.containsKey(name)) {
         return false;
       }
-      properties.put(name, value);
+      properties.put(StringPool.intern(name), value);
       return true;
     }
   }
@@ -208,19 +236,74 @@ public abstract class Node implements Freezable<Node> {
       }
       childElements.add(childElement);
       if (elementWriters == null) {
-        elementWriters = new HashMap<>();
+        // Linked to keep the element keys in the same order as childElements
+        elementWriters = new LinkedHashMap<>();
       }
-      IdGenerator idGenerator = idGenerators.get();
-      while (true) {
-        Long elementKey = idGenerator.getNextId();
-        if (!elementWriters.containsKey(elementKey)) {
-          elementWriters.put(elementKey, elementWriter);
-          return elementKey;
-        } else {
-          // Reset generator when duplicate found (this should be extremely rare)
-          idGenerator.reset();
-        }
+      Long elementKey = newElementKey(elementWriters);
+      elementWriters.put(elementKey, elementWriter);
+      return elementKey;
+    }
+  }
+
+  /**
+   * Generates a new element key that is not already used.
+   *
+   * @param  elementWriters  the element keys already used, or {@code null} when none
+   */
+  static long newElementKey(Map<Long, ?> elementWriters) {
+    IdGenerator idGenerator = idGenerators.get();
+    while (true) {
+      long elementKey = idGenerator.getNextId();
+      if (elementWriters == null || !elementWriters.containsKey(elementKey)) {
+        return elementKey;
+      } else {
+        // Reset generator when duplicate found (this should be extremely rare)
+        idGenerator.reset();
+      }
+    }
+  }
+
+  /**
+   * Adds a child element to this node, using a previously generated element key.
+   * This is used to restore a node, such as in {@link PageCodec}, while keeping the element
+   * markers already in the body valid.
+   *
+   * @throws  IllegalStateException  when the element key is already used by this node
+   */
+  void addChildElement(Element childElement, ElementWriter elementWriter, long elementKey) {
+    synchronized (lock) {
+      checkNotFrozen();
+      if (elementWriters == null) {
+        elementWriters = new LinkedHashMap<>();
+      } else if (elementWriters.containsKey(elementKey)) {
+        throw new IllegalStateException("Duplicate element key: " + elementKey);
+      }
+      if (childElements == null) {
+        childElements = new ArrayList<>();
+      }
+      childElements.add(childElement);
+      elementWriters.put(elementKey, elementWriter);
+    }
+  }
+
+  /**
+   * Gets the element keys, in the same order as {@link #getChildElements()}.
+   */
+  List<Long> getElementKeys() {
+    synchronized (lock) {
+      if (elementWriters == null) {
+        return Collections.emptyList();
       }
+      return new ArrayList<>(elementWriters.keySet());
+    }
+  }
+
+  /**
+   * Gets the number of element writers, without copying the element keys.
+   */
+  int getElementWriterCount() {
+    synchronized (lock) {
+      return elementWriters == null ? 0 : elementWriters.size();
     }
   }
 
@@ -253,7 +336,7 @@ public abstract class Node implements Freezable<Node> {
       if (pageLinks == null) {
         pageLinks = new LinkedHashSet<>();
       }
-      pageLinks.add(pageLink);
+      pageLinks.add(pageLink.intern());
     }
   }
 
@@ -278,6 +361,123 @@ public abstract class Node implements Freezable<Node> {
     this.body = body;
   }
 
+  private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+  private volatile byte[] digest;
+
+  /**
+   * Gets a SHA-256 digest of the content of this node, including the digests of all its child elements,
+   * as a lowercase hexadecimal string.  Nodes with the same digest have the same content, so this may be
+   * used for HTTP entity tags or to detect unchanged content without rendering.
+   *
+   * <p>The digest is computed once, on first use, and the node must be frozen.</p>
+   *
+   * @throws  IllegalStateException  when the node is not frozen
+   *
+   * @see  #updateDigest(java.security.MessageDigest)
+   */
+  public String getContentDigest() throws IllegalStateException, IOException {
+    byte[] d = getDigest();
+    char[] hex = new char[d.length * 2];
+    for (int i = 0; i < d.length; i++) {
+      int b = d[i];
+      hex[i * 2] = HEX_CHARS[(b >> 4) & 0xf];
+      hex[i * 2 + 1] = HEX_CHARS[b & 0xf];
+    }
+    return new String(hex);
+  }
+
+  /**
+   * Gets the digest, computing it on first use.
+   * The returned array must not be modified.
+   */
+  byte[] getDigest() throws IllegalStateException, IOException {
+    byte[] d = digest;
+    if (d == null) {
+      if (!frozen) {
+        throw new IllegalStateException("Node not frozen: " + this);
+      }
+      MessageDigest md;
+      try {
+        md = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new AssertionError("SHA-256 is required on all Java platforms", e);
+      }
+      updateDigest(md);
+      d = md.digest();
+      digest = d;
+    }
+    return d;
+  }
+
+  /**
+   * Adds the content of this node to a digest.  This includes the type of node, label, properties, page links,
+   * the digests of child elements, and the body without any child element markers.
+   *
+   * <p>Subclasses with additional content must override this, first calling {@code super.updateDigest(md)},
+   * then adding their own content with the {@code updateDigest} helper methods.</p>
+   *
+   * @see  #getContentDigest()
+   */
+  protected void updateDigest(MessageDigest md) throws IOException {
+    updateDigest(md, getClass().getName());
+    updateDigest(md, getLabel());
+    Map<String, Object> props = getProperty();
+    updateDigest(md, props.size());
+    for (Map.Entry<String, Object> entry : props.entrySet()) {
+      updateDigest(md, entry.getKey());
+      Object value = entry.getValue();
+      updateDigest(md, value == null ? null : value.toString());
+    }
+    Set<PageRef> links = getPageLinks();
+    updateDigest(md, links.size());
+    for (PageRef link : links) {
+      updateDigest(md, link.getServletPath());
+    }
+    List<Element> children = getChildElements();
+    updateDigest(md, children.size());
+    for (Element child : children) {
+      md.update(child.getDigest());
+    }
+    BufferResult b = body;
+    if (b == null) {
+      updateDigest(md, -1);
+    } else {
+      // Element markers have random keys, so they are removed and child elements are represented by their digests above
+      Writer out = new OutputStreamWriter(new DigestOutputStream(OutputStream.nullOutputStream(), md), StandardCharsets.UTF_8);
+      try (NodeBodyWriter bodyWriter = new NodeBodyWriter(this, out, null, true)) {
+        b.writeTo(bodyWriter);
+      }
+      updateDigest(md, b.getLength());
+    }
+  }
+
+  /**
+   * Adds a string, which may be {@code null}, to a digest.
+   *
+   * @see  #updateDigest(java.security.MessageDigest)
+   */
+  protected static void updateDigest(MessageDigest md, String value) {
+    if (value == null) {
+      updateDigest(md, -1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      updateDigest(md, bytes.length);
+      md.update(bytes);
+    }
+  }
+
+  /**
+   * Adds a number to a digest.
+   *
+   * @see  #updateDigest(java.security.MessageDigest)
+   */
+  protected static void updateDigest(MessageDigest md, long value) {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      md.update((byte) (value >>> shift));
+    }
+  }
+
   /**
    * Gets a short description, useful for links and lists, for this node.
    */
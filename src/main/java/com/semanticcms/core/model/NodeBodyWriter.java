@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2015, 2016, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2015, 2016, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -63,13 +63,24 @@ public class NodeBodyWriter extends Writer {
   private final Node node;
   private final Writer out;
   private final ElementContext context;
+  private final boolean skipElements;
   private final char[] elementKeyBuffer = new char[ELEMENT_KEY_LEN];
   private int markerPos;
 
   public NodeBodyWriter(Node node, Writer out, ElementContext context) {
+    this(node, out, context, false);
+  }
+
+  /**
+   * @param  skipElements  When {@code true}, child element markers are removed instead of being
+   *                       replaced with child element content.  This is used to get the body of
+   *                       the node itself, without its child elements.
+   */
+  NodeBodyWriter(Node node, Writer out, ElementContext context, boolean skipElements) {
     this.node = node;
     this.out = out;
     this.context = context;
+    this.skipElements = skipElements;
   }
 
   /**
@@ -134,13 +145,15 @@ public class NodeBodyWriter extends Writer {
             long elementKey = Strings.convertLongArrayFromHex(elementKeyBuffer);
             ElementWriter elementWriter = node.getElementWriter(elementKey);
             if (elementWriter != null) {
-              // Substitute child element
-              try {
-                elementWriter.writeTo(out, context);
-              } catch (Error | RuntimeException | IOException e) {
-                throw e;
-              } catch (Throwable t) {
-                throw new WrappedException(t);
+              // Substitute child element, unless skipped
+              if (!skipElements) {
+                try {
+                  elementWriter.writeTo(out, context);
+                } catch (Error | RuntimeException | IOException e) {
+                  throw e;
+                } catch (Throwable t) {
+                  throw new WrappedException(t);
+                }
               }
             } else {
               if (logger.isLoggable(Level.WARNING)) {
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -25,6 +25,9 @@ package com.semanticcms.core.model;
 
 import com.aoapps.collections.AoCollections;
 import com.aoapps.web.resources.registry.Registry;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,6 +36,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.joda.time.Chronology;
 import org.joda.time.DateTime;
 import org.joda.time.ReadableDateTime;
 
@@ -53,10 +57,17 @@ public class Page extends Node implements Comparable<Page> {
   private volatile PageRef src;
   private volatile Copyright copyright;
   private Set<Author> authors;
-  private volatile DateTime dateCreated;
-  private volatile DateTime datePublished;
-  private volatile DateTime dateModified;
-  private volatile DateTime dateReviewed;
+  // Dates are stored as milliseconds and their shared chronology, creating a DateTime only when requested.
+  // Each chronology is written after its milliseconds and read before them, so a non-null chronology
+  // always has its milliseconds visible.
+  private long dateCreatedMillis;
+  private volatile Chronology dateCreatedChronology;
+  private long datePublishedMillis;
+  private volatile Chronology datePublishedChronology;
+  private long dateModifiedMillis;
+  private volatile Chronology dateModifiedChronology;
+  private long dateReviewedMillis;
+  private volatile Chronology dateReviewedChronology;
   private volatile String title;
   private volatile String shortTitle;
   private volatile String description;
@@ -65,6 +76,9 @@ public class Page extends Node implements Comparable<Page> {
   private volatile Registry registry;
   private volatile Boolean toc;
   private volatile int tocLevels = DEFAULT_TOC_LEVELS;
+  // The tables of contents by element type, copy-on-write, only once frozen
+  private volatile Map<Class<? extends Element>, TableOfContents> tablesOfContents = Collections.emptyMap();
+  private volatile PageStatistics statistics;
   private Set<ParentRef> parentRefs;
   private volatile boolean allowParentMismatch;
   private Set<ChildRef> childRefs;
@@ -112,25 +126,150 @@ public class Page extends Node implements Comparable<Page> {
         parentRefs = AoCollections.optimalUnmodifiableSet(parentRefs);
         childRefs = AoCollections.optimalUnmodifiableSet(childRefs);
         if (elements != null) {
-          // Generate any missing IDs and freeze all elements
+          // Generate any missing IDs in a single pass under the page lock, in the same order as
+          // calling getId() on each element, without copying elementsById for each element
+          if (elementsById == null) {
+            elementsById = AoCollections.newHashMap(elements.size());
+          }
           for (Element element : elements) {
-            // Calling getId causes any missing id to be generated
-            element.getId();
+            if (element.assignGeneratedId(elementsById) != null) {
+              addToElementsById(element, true);
+            }
             // Freeze it now, nothing else should change
             element.freeze();
           }
-          assert elementsById != null;
           assert elements.size() == elementsById.size() : "elements and elementsById are different size: " + elements.size() + " != " + elementsById.size();
           elements = AoCollections.optimalUnmodifiableList(elements);
           elementsById = AoCollections.optimalUnmodifiableMap(elementsById);
         }
         generatedIds = AoCollections.optimalUnmodifiableSet(generatedIds);
         super.freeze();
+        if (ModelStatistics.isEnabled()) {
+          PageStatistics stats = PageStatistics.of(this);
+          statistics = stats;
+          ModelStatistics.register(this, stats);
+        }
       }
     }
     return this;
   }
 
+  /**
+   * Sets all the state of a new page at once from a builder, then freezes it.
+   *
+   * @see  PageBuilder#build()
+   */
+  void init(PageBuilder builder) {
+    synchronized (lock) {
+      checkNotFrozen();
+      src = builder.src;
+      copyright = builder.copyright;
+      authors = builder.authors;
+      if (builder.dateCreated != null) {
+        dateCreatedMillis = builder.dateCreated.getMillis();
+        dateCreatedChronology = builder.dateCreated.getChronology();
+      }
+      if (builder.datePublished != null) {
+        datePublishedMillis = builder.datePublished.getMillis();
+        datePublishedChronology = builder.datePublished.getChronology();
+      }
+      if (builder.dateModified != null) {
+        dateModifiedMillis = builder.dateModified.getMillis();
+        dateModifiedChronology = builder.dateModified.getChronology();
+      }
+      if (builder.dateReviewed != null) {
+        dateReviewedMillis = builder.dateReviewed.getMillis();
+        dateReviewedChronology = builder.dateReviewed.getChronology();
+      }
+      checkDates();
+      title = builder.title;
+      shortTitle = builder.shortTitle;
+      description = builder.description;
+      keywords = StringPool.intern(builder.keywords);
+      allowRobots = builder.allowRobots;
+      registry = builder.registry;
+      toc = builder.toc;
+      tocLevels = builder.tocLevels;
+      parentRefs = builder.parentRefs;
+      allowParentMismatch = builder.allowParentMismatch;
+      childRefs = builder.childRefs;
+      allowChildMismatch = builder.allowChildMismatch;
+      elements = builder.elements;
+      if (elements != null) {
+        elementsById = AoCollections.newHashMap(elements.size());
+        for (Element element : elements) {
+          addToElementsById(element, false);
+        }
+      }
+      init(builder.properties, builder.childElements, builder.elementWriters, builder.pageLinks, builder.body);
+      freeze();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Pages also include all their metadata, authors, copyright, and parent and child references.</p>
+   */
+  @Override
+  protected void updateDigest(MessageDigest md) throws IOException {
+    super.updateDigest(md);
+    updateDigest(md, pageRef);
+    updateDigest(md, src);
+    Copyright c = copyright;
+    if (c == null) {
+      updateDigest(md, -1);
+    } else {
+      updateDigest(md, c.getRightsHolder());
+      updateDigest(md, c.getRights());
+      updateDigest(md, c.getDateCopyrighted());
+    }
+    Set<Author> a = getAuthors();
+    updateDigest(md, a.size());
+    for (Author author : a) {
+      updateDigest(md, author.getName());
+      updateDigest(md, author.getHref());
+      updateDigest(md, author.getBookName());
+      updateDigest(md, author.getPage());
+    }
+    updateDigest(md, getDateCreated());
+    updateDigest(md, getDatePublished());
+    updateDigest(md, getDateModified());
+    updateDigest(md, getDateReviewed());
+    updateDigest(md, title);
+    updateDigest(md, shortTitle);
+    updateDigest(md, description);
+    updateDigest(md, keywords);
+    updateDigest(md, allowRobots);
+    updateDigest(md, toc);
+    updateDigest(md, tocLevels);
+    Set<ParentRef> parents = getParentRefs();
+    updateDigest(md, parents.size());
+    for (ParentRef parentRef : parents) {
+      updateDigest(md, parentRef.getPageRef());
+      updateDigest(md, parentRef.getShortTitle());
+    }
+    updateDigest(md, allowParentMismatch);
+    Set<ChildRef> children = getChildRefs();
+    updateDigest(md, children.size());
+    for (ChildRef childRef : children) {
+      updateDigest(md, childRef.getPageRef());
+    }
+    updateDigest(md, allowChildMismatch);
+  }
+
+  private static void updateDigest(MessageDigest md, PageRef pageRef) {
+    updateDigest(md, pageRef == null ? null : pageRef.getServletPath());
+  }
+
+  private static void updateDigest(MessageDigest md, DateTime dateTime) {
+    updateDigest(md, dateTime == null ? null : dateTime.toString());
+  }
+
+  private static void updateDigest(MessageDigest md, Boolean value) {
+    updateDigest(md, value == null ? -1 : value ? 1 : 0);
+  }
+
   /**
    * The {@link PageRef} that refers to this page.
    */
@@ -140,7 +279,7 @@ public class Page extends Node implements Comparable<Page> {
 
   public void setPageRef(PageRef pageRef) {
     checkNotFrozen();
-    this.pageRef = pageRef;
+    this.pageRef = pageRef == null ? null : pageRef.intern();
   }
 
   /**
@@ -153,7 +292,7 @@ public class Page extends Node implements Comparable<Page> {
 
   public void setSrc(PageRef src) {
     checkNotFrozen();
-    this.src = src;
+    this.src = src == null ? null : src.intern();
   }
 
   public Copyright getCopyright() {
@@ -198,12 +337,26 @@ public class Page extends Node implements Comparable<Page> {
    */
   // Matches com.aoapps.tldparser.Dates.getCreated()
   public DateTime getDateCreated() {
-    return dateCreated;
+    // Arguments are evaluated in order, reading the chronology before the milliseconds
+    return toDateTime(dateCreatedChronology, dateCreatedMillis);
+  }
+
+  /**
+   * Gets the same instant as {@link #getDateCreated()}, without creating a {@link DateTime}.
+   */
+  public Instant getDateCreatedInstant() {
+    Chronology chronology = dateCreatedChronology;
+    return chronology == null ? null : Instant.ofEpochMilli(dateCreatedMillis);
   }
 
   public void setDateCreated(ReadableDateTime dateCreated) {
     checkNotFrozen();
-    this.dateCreated = dateCreated == null ? null : dateCreated.toDateTime();
+    if (dateCreated == null) {
+      dateCreatedChronology = null;
+    } else {
+      dateCreatedMillis = dateCreated.getMillis();
+      dateCreatedChronology = dateCreated.getChronology();
+    }
     checkDates();
   }
 
@@ -215,12 +368,26 @@ public class Page extends Node implements Comparable<Page> {
    */
   // Matches com.aoapps.tldparser.Dates.getPublished()
   public DateTime getDatePublished() {
-    return datePublished;
+    // Arguments are evaluated in order, reading the chronology before the milliseconds
+    return toDateTime(datePublishedChronology, datePublishedMillis);
+  }
+
+  /**
+   * Gets the same instant as {@link #getDatePublished()}, without creating a {@link DateTime}.
+   */
+  public Instant getDatePublishedInstant() {
+    Chronology chronology = datePublishedChronology;
+    return chronology == null ? null : Instant.ofEpochMilli(datePublishedMillis);
   }
 
   public void setDatePublished(ReadableDateTime datePublished) {
     checkNotFrozen();
-    this.datePublished = datePublished == null ? null : datePublished.toDateTime();
+    if (datePublished == null) {
+      datePublishedChronology = null;
+    } else {
+      datePublishedMillis = datePublished.getMillis();
+      datePublishedChronology = datePublished.getChronology();
+    }
     checkDates();
   }
 
@@ -229,12 +396,26 @@ public class Page extends Node implements Comparable<Page> {
    */
   // Matches com.aoapps.tldparser.Dates.getModified()
   public DateTime getDateModified() {
-    return dateModified;
+    // Arguments are evaluated in order, reading the chronology before the milliseconds
+    return toDateTime(dateModifiedChronology, dateModifiedMillis);
+  }
+
+  /**
+   * Gets the same instant as {@link #getDateModified()}, without creating a {@link DateTime}.
+   */
+  public Instant getDateModifiedInstant() {
+    Chronology chronology = dateModifiedChronology;
+    return chronology == null ? null : Instant.ofEpochMilli(dateModifiedMillis);
   }
 
   public void setDateModified(ReadableDateTime dateModified) {
     checkNotFrozen();
-    this.dateModified = dateModified == null ? null : dateModified.toDateTime();
+    if (dateModified == null) {
+      dateModifiedChronology = null;
+    } else {
+      dateModifiedMillis = dateModified.getMillis();
+      dateModifiedChronology = dateModified.getChronology();
+    }
     checkDates();
   }
 
@@ -245,43 +426,57 @@ public class Page extends Node implements Comparable<Page> {
    */
   // Matches com.aoapps.tldparser.Dates.getReviewed()
   public DateTime getDateReviewed() {
-    return dateReviewed;
+    // Arguments are evaluated in order, reading the chronology before the milliseconds
+    return toDateTime(dateReviewedChronology, dateReviewedMillis);
+  }
+
+  /**
+   * Gets the same instant as {@link #getDateReviewed()}, without creating a {@link DateTime}.
+   */
+  public Instant getDateReviewedInstant() {
+    Chronology chronology = dateReviewedChronology;
+    return chronology == null ? null : Instant.ofEpochMilli(dateReviewedMillis);
   }
 
   public void setDateReviewed(ReadableDateTime dateReviewed) {
     checkNotFrozen();
-    this.dateReviewed = dateReviewed == null ? null : dateReviewed.toDateTime();
+    if (dateReviewed == null) {
+      dateReviewedChronology = null;
+    } else {
+      dateReviewedMillis = dateReviewed.getMillis();
+      dateReviewedChronology = dateReviewed.getChronology();
+    }
     checkDates();
   }
 
+  private static DateTime toDateTime(Chronology chronology, long millis) {
+    return chronology == null ? null : new DateTime(millis, chronology);
+  }
+
   /**
    * Checks the dates for consistency.
    */
   private void checkDates() {
-    DateTime created = this.dateCreated;
-    DateTime published = this.datePublished;
-    DateTime modified = this.dateModified;
-    DateTime reviewed = this.dateReviewed;
-    if (
-        created != null
-            && published != null
-            && published.compareTo(created) < 0
-    ) {
-      throw new IllegalArgumentException("published may not be before created");
-    }
-    if (
-        created != null
-            && modified != null
-            && modified.compareTo(created) < 0
-    ) {
-      throw new IllegalArgumentException("modified may not be before created");
-    }
-    if (
-        created != null
-            && reviewed != null
-            && reviewed.compareTo(created) < 0
-    ) {
-      throw new IllegalArgumentException("reviewed may not be before created");
+    if (dateCreatedChronology != null) {
+      long created = dateCreatedMillis;
+      if (
+          datePublishedChronology != null
+              && datePublishedMillis < created
+      ) {
+        throw new IllegalArgumentException("published may not be before created");
+      }
+      if (
+          dateModifiedChronology != null
+              && dateModifiedMillis < created
+      ) {
+        throw new IllegalArgumentException("modified may not be before created");
+      }
+      if (
+          dateReviewedChronology != null
+              && dateReviewedMillis < created
+      ) {
+        throw new IllegalArgumentException("reviewed may not be before created");
+      }
     }
   }
 
@@ -307,6 +502,13 @@ public class Page extends Node implements Comparable<Page> {
     return st != null ? st : getTitle();
   }
 
+  /**
+   * Gets the short title, without defaulting to the title.
+   */
+  String getShortTitleNoDefault() {
+    return shortTitle;
+  }
+
   public void setShortTitle(String shortTitle) {
     checkNotFrozen();
     this.shortTitle = shortTitle;
@@ -327,7 +529,7 @@ public class Page extends Node implements Comparable<Page> {
 
   public void setKeywords(String keywords) {
     checkNotFrozen();
-    this.keywords = keywords;
+    this.keywords = StringPool.intern(keywords);
   }
 
   /**
@@ -397,6 +599,49 @@ public class Page extends Node implements Comparable<Page> {
     this.tocLevels = tocLevels;
   }
 
+  /**
+   * Gets the size of the model of this page.  Once frozen, this is computed once, during {@link #freeze()} when
+   * {@link ModelStatistics} are enabled, otherwise on first use.
+   */
+  public PageStatistics getStatistics() {
+    PageStatistics s = statistics;
+    if (s == null) {
+      s = PageStatistics.of(this);
+      if (frozen) {
+        statistics = s;
+      }
+    }
+    return s;
+  }
+
+  /**
+   * Gets the table of contents of this page, built from the nested elements of the given type.
+   * Once frozen, the table of contents is built once per type on first use and cached.
+   *
+   * @param  elementType  the type of element in the table of contents, such as sections
+   */
+  public TableOfContents getTableOfContents(Class<? extends Element> elementType) {
+    if (!frozen) {
+      return TableOfContents.build(this, elementType);
+    }
+    TableOfContents t = tablesOfContents.get(elementType);
+    if (t == null) {
+      // Built outside the lock, a concurrent build of the same type is discarded
+      t = TableOfContents.build(this, elementType);
+      synchronized (lock) {
+        Map<Class<? extends Element>, TableOfContents> oldTables = tablesOfContents;
+        TableOfContents existing = oldTables.get(elementType);
+        if (existing != null) {
+          return existing;
+        }
+        Map<Class<? extends Element>, TableOfContents> newTables = new HashMap<>(oldTables);
+        newTables.put(elementType, t);
+        tablesOfContents = newTables;
+      }
+    }
+    return t;
+  }
+
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
   public Set<ParentRef> getParentRefs() {
     synchronized (lock) {
@@ -0,0 +1,375 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.io.buffer.BufferResult;
+import com.aoapps.lang.NullArgumentException;
+import com.aoapps.web.resources.registry.Registry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.joda.time.ReadableDateTime;
+
+/**
+ * Builds a frozen {@link Page} in one step.  The state of the page is gathered in plain fields, without the
+ * locking and frozen checks of the {@link Page} setters, and is set on the page all at once by
+ * {@link #build()}.  This is intended for bulk page generation.
+ *
+ * <p>Elements are configured through their own setters, then added with
+ * {@link #addElement(com.semanticcms.core.model.Element, com.semanticcms.core.model.Element, com.semanticcms.core.model.ElementWriter)}.
+ * They are frozen along with the page.</p>
+ *
+ * <p>This class is not thread-safe, and each builder builds a single page.</p>
+ */
+public final class PageBuilder {
+
+  private final Page page;
+  private boolean built;
+
+  PageRef src;
+  Copyright copyright;
+  Set<Author> authors;
+  ReadableDateTime dateCreated;
+  ReadableDateTime datePublished;
+  ReadableDateTime dateModified;
+  ReadableDateTime dateReviewed;
+  String title;
+  String shortTitle;
+  String description;
+  String keywords;
+  Boolean allowRobots;
+  Registry registry;
+  Boolean toc;
+  int tocLevels = Page.DEFAULT_TOC_LEVELS;
+  Set<ParentRef> parentRefs;
+  boolean allowParentMismatch;
+  Set<ChildRef> childRefs;
+  boolean allowChildMismatch;
+  List<Element> elements;
+  Map<String, Object> properties;
+  List<Element> childElements;
+  Map<Long, ElementWriter> elementWriters;
+  Set<PageRef> pageLinks;
+  BufferResult body;
+
+  public PageBuilder(PageRef pageRef) {
+    page = new Page();
+    page.setPageRef(NullArgumentException.checkNotNull(pageRef, "pageRef"));
+  }
+
+  private void checkNotBuilt() throws IllegalStateException {
+    if (built) {
+      throw new IllegalStateException("Page already built");
+    }
+  }
+
+  /**
+   * @see  Page#setSrc(com.semanticcms.core.model.PageRef)
+   */
+  public PageBuilder src(PageRef src) {
+    checkNotBuilt();
+    this.src = src == null ? null : src.intern();
+    return this;
+  }
+
+  /**
+   * @see  Page#setCopyright(com.semanticcms.core.model.Copyright)
+   */
+  public PageBuilder copyright(Copyright copyright) {
+    checkNotBuilt();
+    this.copyright = copyright;
+    return this;
+  }
+
+  /**
+   * @see  Page#addAuthor(com.semanticcms.core.model.Author)
+   */
+  public PageBuilder author(Author author) {
+    checkNotBuilt();
+    if (authors == null) {
+      authors = new LinkedHashSet<>();
+    }
+    if (!authors.add(author)) {
+      throw new IllegalStateException("Duplicate author: " + author);
+    }
+    return this;
+  }
+
+  /**
+   * @see  Page#setDateCreated(org.joda.time.ReadableDateTime)
+   */
+  public PageBuilder dateCreated(ReadableDateTime dateCreated) {
+    checkNotBuilt();
+    this.dateCreated = dateCreated;
+    return this;
+  }
+
+  /**
+   * @see  Page#setDatePublished(org.joda.time.ReadableDateTime)
+   */
+  public PageBuilder datePublished(ReadableDateTime datePublished) {
+    checkNotBuilt();
+    this.datePublished = datePublished;
+    return this;
+  }
+
+  /**
+   * @see  Page#setDateModified(org.joda.time.ReadableDateTime)
+   */
+  public PageBuilder dateModified(ReadableDateTime dateModified) {
+    checkNotBuilt();
+    this.dateModified = dateModified;
+    return this;
+  }
+
+  /**
+   * @see  Page#setDateReviewed(org.joda.time.ReadableDateTime)
+   */
+  public PageBuilder dateReviewed(ReadableDateTime dateReviewed) {
+    checkNotBuilt();
+    this.dateReviewed = dateReviewed;
+    return this;
+  }
+
+  /**
+   * @see  Page#setTitle(java.lang.String)
+   */
+  public PageBuilder title(String title) {
+    checkNotBuilt();
+    this.title = title;
+    return this;
+  }
+
+  /**
+   * @see  Page#setShortTitle(java.lang.String)
+   */
+  public PageBuilder shortTitle(String shortTitle) {
+    checkNotBuilt();
+    this.shortTitle = shortTitle;
+    return this;
+  }
+
+  /**
+   * @see  Page#setDescription(java.lang.String)
+   */
+  public PageBuilder description(String description) {
+    checkNotBuilt();
+    this.description = description;
+    return this;
+  }
+
+  /**
+   * @see  Page#setKeywords(java.lang.String)
+   */
+  public PageBuilder keywords(String keywords) {
+    checkNotBuilt();
+    this.keywords = keywords;
+    return this;
+  }
+
+  /**
+   * @see  Page#setAllowRobots(java.lang.Boolean)
+   */
+  public PageBuilder allowRobots(Boolean allowRobots) {
+    checkNotBuilt();
+    this.allowRobots = allowRobots;
+    return this;
+  }
+
+  /**
+   * Sets the page-scope web resource registry, empty registries are discarded when built.
+   *
+   * @see  Page#setRegistry(com.aoapps.web.resources.registry.Registry)
+   */
+  public PageBuilder registry(Registry registry) {
+    checkNotBuilt();
+    this.registry = registry;
+    return this;
+  }
+
+  /**
+   * @see  Page#setToc(java.lang.Boolean)
+   */
+  public PageBuilder toc(Boolean toc) {
+    checkNotBuilt();
+    this.toc = toc;
+    return this;
+  }
+
+  /**
+   * @see  Page#setTocLevels(int)
+   */
+  public PageBuilder tocLevels(int tocLevels) {
+    checkNotBuilt();
+    if (tocLevels < Page.MIN_TOC_LEVELS || tocLevels > Page.MAX_TOC_LEVELS) {
+      throw new IllegalArgumentException("tocLevels must be between " + Page.MIN_TOC_LEVELS + " and " + Page.MAX_TOC_LEVELS + ": " + tocLevels);
+    }
+    this.tocLevels = tocLevels;
+    return this;
+  }
+
+  /**
+   * @see  Page#addParentRef(com.semanticcms.core.model.ParentRef)
+   */
+  public PageBuilder parentRef(ParentRef parentRef) {
+    checkNotBuilt();
+    if (parentRefs == null) {
+      parentRefs = new LinkedHashSet<>();
+    }
+    if (!parentRefs.add(parentRef)) {
+      throw new IllegalStateException("Duplicate parent: " + parentRef);
+    }
+    return this;
+  }
+
+  /**
+   * @see  Page#setAllowParentMismatch(boolean)
+   */
+  public PageBuilder allowParentMismatch(boolean allowParentMismatch) {
+    checkNotBuilt();
+    this.allowParentMismatch = allowParentMismatch;
+    return this;
+  }
+
+  /**
+   * @see  Page#addChildRef(com.semanticcms.core.model.ChildRef)
+   */
+  public PageBuilder childRef(ChildRef childRef) {
+    checkNotBuilt();
+    if (childRefs == null) {
+      childRefs = new LinkedHashSet<>();
+    }
+    if (!childRefs.add(childRef)) {
+      throw new IllegalStateException("Duplicate child: " + childRef);
+    }
+    return this;
+  }
+
+  /**
+   * @see  Page#setAllowChildMismatch(boolean)
+   */
+  public PageBuilder allowChildMismatch(boolean allowChildMismatch) {
+    checkNotBuilt();
+    this.allowChildMismatch = allowChildMismatch;
+    return this;
+  }
+
+  /**
+   * Sets a property on the page, if the property has not already been set.
+   *
+   * @return  {@code true} when the property was added or {@code false} when the property already existed
+   *
+   * @see  Page#setProperty(java.lang.String, java.lang.Object)
+   */
+  public boolean property(String name, Object value) {
+    checkNotBuilt();
+    if (properties == null) {
+      properties = new LinkedHashMap<>();
+    } else if (properties.containsKey(name)) {
+      return false;
+    }
+    properties.put(StringPool.intern(name), value);
+    return true;
+  }
+
+  /**
+   * @see  Page#addPageLink(com.semanticcms.core.model.PageRef)
+   */
+  public PageBuilder pageLink(PageRef pageLink) {
+    checkNotBuilt();
+    if (pageLinks == null) {
+      pageLinks = new LinkedHashSet<>();
+    }
+    pageLinks.add(pageLink.intern());
+    return this;
+  }
+
+  /**
+   * @see  Page#setBody(com.aoapps.io.buffer.BufferResult)
+   */
+  public PageBuilder body(BufferResult body) {
+    checkNotBuilt();
+    try {
+      assert body.getLength() == body.trim().getLength() : "body must have already been trimmed";
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+    this.body = body;
+    return this;
+  }
+
+  /**
+   * Adds an element to the page, either directly to the page or nested within another element already added.
+   * Elements must be added in the order declared in the page, parents before their children.
+   *
+   * @param  parent  the element to add to, or {@code null} to add directly to the page
+   *
+   * @return  the element key, for the element marker in the body of the page or parent element
+   *
+   * @see  Page#addElement(com.semanticcms.core.model.Element)
+   * @see  Node#addChildElement(com.semanticcms.core.model.Element, com.semanticcms.core.model.ElementWriter)
+   */
+  public long addElement(Element parent, Element element, ElementWriter elementWriter) {
+    checkNotBuilt();
+    long elementKey;
+    if (parent == null) {
+      if (elementWriters == null) {
+        childElements = new ArrayList<>();
+        // Linked to keep the element keys in the same order as childElements
+        elementWriters = new LinkedHashMap<>();
+      }
+      elementKey = Node.newElementKey(elementWriters);
+      childElements.add(element);
+      elementWriters.put(elementKey, elementWriter);
+    } else {
+      if (parent.getPage() != page) {
+        throw new IllegalArgumentException("parent element not added to this page: " + parent);
+      }
+      elementKey = parent.addChildElement(element, elementWriter);
+    }
+    element.setPage(page);
+    if (elements == null) {
+      elements = new ArrayList<>();
+    }
+    elements.add(element);
+    return elementKey;
+  }
+
+  /**
+   * Builds the page, generating any missing element ids and freezing the page and all its elements.
+   *
+   * @throws  IllegalStateException  when already built
+   * @throws  IllegalArgumentException  when the dates are inconsistent
+   */
+  public Page build() throws IllegalStateException, IllegalArgumentException {
+    checkNotBuilt();
+    built = true;
+    page.init(this);
+    return page;
+  }
+}
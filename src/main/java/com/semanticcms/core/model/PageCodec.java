@@ -0,0 +1,496 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.io.buffer.BufferResult;
+import com.aoapps.io.buffer.BufferWriter;
+import com.aoapps.io.buffer.SegmentedWriter;
+import com.aoapps.lang.NullArgumentException;
+import com.aoapps.web.resources.registry.Registry;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * A compact, versioned binary format for frozen {@link Page pages}, including their elements.
+ * This allows pages to be stored outside the heap or moved between JVMs without re-parsing
+ * the page source.
+ *
+ * <p>Each type of {@link Element} is written by an {@link ElementSerializer} registered for its exact class.
+ * Property values are limited to {@code null}, {@link String}, {@link Boolean}, {@link Integer}, {@link Long},
+ * and {@link Double}.  Pages with a page-scope {@link Registry} are not supported.</p>
+ *
+ * <p>This class is thread-safe.  Serializers should all be registered before the codec is used.</p>
+ */
+public class PageCodec {
+
+  /**
+   * The first four bytes of every page, "SCPG".
+   */
+  private static final int MAGIC = 0x53435047;
+
+  /**
+   * The current version of the format, incremented on any incompatible change.
+   */
+  private static final short VERSION = 1;
+
+  private static final byte NULL = 0;
+  private static final byte FALSE = 1;
+  private static final byte TRUE = 2;
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_BOOLEAN = 2;
+  private static final byte TYPE_INTEGER = 3;
+  private static final byte TYPE_LONG = 4;
+  private static final byte TYPE_DOUBLE = 5;
+
+  /**
+   * The greatest number of bytes or elements allocated ahead of reading them, so a corrupt length or count
+   * cannot cause a large allocation before the end of the input is reached.
+   */
+  private static final int MAX_PREALLOCATE = 8192;
+
+  private final Map<Class<? extends Element>, ElementSerializer<?>> serializersByClass = new ConcurrentHashMap<>();
+  private final Map<String, ElementSerializer<?>> serializersByName = new ConcurrentHashMap<>();
+
+  /**
+   * Registers the serializer for the given exact type of element.
+   *
+   * @return  this codec
+   *
+   * @throws  IllegalStateException  if a serializer is already registered for the type
+   */
+  public <E extends Element> PageCodec register(Class<E> elementType, ElementSerializer<E> serializer) throws IllegalStateException {
+    NullArgumentException.checkNotNull(serializer, "serializer");
+    String typeName = elementType.getName();
+    if (serializersByName.putIfAbsent(typeName, serializer) != null) {
+      throw new IllegalStateException("Serializer already registered: " + typeName);
+    }
+    serializersByClass.put(elementType, serializer);
+    return this;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <E extends Element> ElementSerializer<E> getSerializer(E element) throws NotSerializableException {
+    ElementSerializer<E> serializer = (ElementSerializer<E>) serializersByClass.get(element.getClass());
+    if (serializer == null) {
+      throw new NotSerializableException(element.getClass().getName());
+    }
+    return serializer;
+  }
+
+  /**
+   * Writes a frozen page.
+   *
+   * @throws  IllegalStateException  if the page is not frozen
+   * @throws  NotSerializableException  if the page contains an element without a registered serializer,
+   *                                    a property value of an unsupported type, or a registry
+   */
+  public void writePage(Page page, DataOutput out) throws IOException {
+    if (!page.frozen) {
+      throw new IllegalStateException("Page not frozen: " + page);
+    }
+    if (page.getRegistry() != null) {
+      throw new NotSerializableException(Registry.class.getName());
+    }
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    writePageRef(page.getPageRef(), out);
+    writePageRef(page.getSrc(), out);
+    writeCopyright(page.getCopyright(), out);
+    Set<Author> authors = page.getAuthors();
+    out.writeInt(authors.size());
+    for (Author author : authors) {
+      writeString(author.getName(), out);
+      writeString(author.getHref(), out);
+      writeString(author.getBookName(), out);
+      writeString(author.getPage(), out);
+    }
+    writeDateTime(page.getDateCreated(), out);
+    writeDateTime(page.getDatePublished(), out);
+    writeDateTime(page.getDateModified(), out);
+    writeDateTime(page.getDateReviewed(), out);
+    writeString(page.getTitle(), out);
+    // The short title as set, even when equal to the title, so the content digest is unchanged
+    writeString(page.getShortTitleNoDefault(), out);
+    writeString(page.getDescription(), out);
+    writeString(page.getKeywords(), out);
+    writeBoolean(page.getAllowRobots(), out);
+    writeBoolean(page.getToc(), out);
+    out.writeByte(page.getTocLevels());
+    Set<ParentRef> parentRefs = page.getParentRefs();
+    out.writeInt(parentRefs.size());
+    for (ParentRef parentRef : parentRefs) {
+      writePageRef(parentRef.getPageRef(), out);
+      writeString(parentRef.getShortTitle(), out);
+    }
+    out.writeBoolean(page.getAllowParentMismatch());
+    Set<ChildRef> childRefs = page.getChildRefs();
+    out.writeInt(childRefs.size());
+    for (ChildRef childRef : childRefs) {
+      writePageRef(childRef.getPageRef(), out);
+    }
+    out.writeBoolean(page.getAllowChildMismatch());
+    // Elements, in page order, before any node content so all elements exist when child elements are linked
+    List<Element> elements = page.getElements();
+    Set<String> generatedIds = page.getGeneratedIds();
+    Map<Element, Integer> elementIndexes = new IdentityHashMap<>(elements.size());
+    out.writeInt(elements.size());
+    for (Element element : elements) {
+      elementIndexes.put(element, elementIndexes.size());
+      out.writeUTF(element.getClass().getName());
+      writeElement(element, out);
+      String id = element.getId();
+      writeString(id, out);
+      out.writeBoolean(generatedIds.contains(id));
+    }
+    // Node content
+    writeNode(page, elementIndexes, out);
+    for (Element element : elements) {
+      writeNode(element, elementIndexes, out);
+    }
+  }
+
+  private <E extends Element> void writeElement(E element, DataOutput out) throws IOException {
+    getSerializer(element).writeElement(element, out);
+  }
+
+  private static void writeNode(Node node, Map<Element, Integer> elementIndexes, DataOutput out) throws IOException {
+    Map<String, Object> properties = node.getProperty();
+    out.writeInt(properties.size());
+    for (Map.Entry<String, Object> entry : properties.entrySet()) {
+      writeString(entry.getKey(), out);
+      writePropertyValue(entry.getValue(), out);
+    }
+    Set<PageRef> pageLinks = node.getPageLinks();
+    out.writeInt(pageLinks.size());
+    for (PageRef pageLink : pageLinks) {
+      writePageRef(pageLink, out);
+    }
+    BufferResult body = node.getBody();
+    writeString(body.getLength() == 0 ? null : body.toString(), out);
+    List<Element> childElements = node.getChildElements();
+    List<Long> elementKeys = node.getElementKeys();
+    assert childElements.size() == elementKeys.size();
+    out.writeInt(childElements.size());
+    for (int i = 0, size = childElements.size(); i < size; i++) {
+      Element childElement = childElements.get(i);
+      Integer index = elementIndexes.get(childElement);
+      if (index == null) {
+        throw new NotSerializableException("Child element not added to page: " + childElement);
+      }
+      out.writeInt(index);
+      out.writeLong(elementKeys.get(i));
+    }
+  }
+
+  private static void writePropertyValue(Object value, DataOutput out) throws IOException {
+    if (value == null) {
+      out.writeByte(TYPE_NULL);
+    } else if (value instanceof String) {
+      out.writeByte(TYPE_STRING);
+      writeString((String) value, out);
+    } else if (value instanceof Boolean) {
+      out.writeByte(TYPE_BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(TYPE_INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(TYPE_LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(TYPE_DOUBLE);
+      out.writeDouble((Double) value);
+    } else {
+      throw new NotSerializableException(value.getClass().getName());
+    }
+  }
+
+  private static void writePageRef(PageRef pageRef, DataOutput out) throws IOException {
+    if (pageRef == null) {
+      out.writeBoolean(false);
+    } else {
+      out.writeBoolean(true);
+      writeString(pageRef.getBookName(), out);
+      writeString(pageRef.getPath(), out);
+    }
+  }
+
+  private static void writeCopyright(Copyright copyright, DataOutput out) throws IOException {
+    if (copyright == null) {
+      out.writeBoolean(false);
+    } else {
+      out.writeBoolean(true);
+      writeString(copyright.getRightsHolder(), out);
+      writeString(copyright.getRights(), out);
+      writeString(copyright.getDateCopyrighted(), out);
+    }
+  }
+
+  private static void writeDateTime(DateTime dateTime, DataOutput out) throws IOException {
+    if (dateTime == null) {
+      out.writeBoolean(false);
+    } else {
+      DateTimeZone zone = dateTime.getZone();
+      if (!ISOChronology.getInstance(zone).equals(dateTime.getChronology())) {
+        throw new NotSerializableException(dateTime.getChronology().toString());
+      }
+      out.writeBoolean(true);
+      out.writeLong(dateTime.getMillis());
+      out.writeUTF(zone.getID());
+    }
+  }
+
+  private static void writeBoolean(Boolean value, DataOutput out) throws IOException {
+    out.writeByte(value == null ? NULL : value ? TRUE : FALSE);
+  }
+
+  /**
+   * Writes a string of any length, which may be {@code null}.
+   * Unlike {@link DataOutput#writeUTF(java.lang.String)}, this is not limited to 65535 bytes.
+   */
+  static void writeString(String value, DataOutput out) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Reads a page written by {@link #writePage(com.semanticcms.core.model.Page, java.io.DataOutput)}.
+   *
+   * @param  books  resolves book names to the books currently available, returning {@code null} when
+   *                a book is not available.  {@link PageRef page references} to available books are
+   *                {@linkplain PageRef#PageRef(com.semanticcms.core.model.Book, java.lang.String) bound to their book}.
+   *
+   * @return  the new, frozen page
+   *
+   * @throws  StreamCorruptedException  if not a page or is an unsupported version of the format
+   * @throws  NotSerializableException  if the page contains an element without a registered serializer
+   */
+  public Page readPage(DataInput in, Function<? super String, ? extends Book> books) throws IOException {
+    int magic = in.readInt();
+    if (magic != MAGIC) {
+      throw new StreamCorruptedException("Not a page: 0x" + Integer.toHexString(magic));
+    }
+    short version = in.readShort();
+    if (version != VERSION) {
+      throw new StreamCorruptedException("Unsupported version: " + version);
+    }
+    Page page = new Page();
+    page.setPageRef(readPageRef(in, books));
+    page.setSrc(readPageRef(in, books));
+    page.setCopyright(readCopyright(in));
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      page.addAuthor(new Author(readString(in), readString(in), readString(in), readString(in)));
+    }
+    page.setDateCreated(readDateTime(in));
+    page.setDatePublished(readDateTime(in));
+    page.setDateModified(readDateTime(in));
+    page.setDateReviewed(readDateTime(in));
+    page.setTitle(readString(in));
+    page.setShortTitle(readString(in));
+    page.setDescription(readString(in));
+    page.setKeywords(readString(in));
+    page.setAllowRobots(readBoolean(in));
+    page.setToc(readBoolean(in));
+    page.setTocLevels(in.readByte());
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      page.addParentRef(new ParentRef(readPageRef(in, books), readString(in)));
+    }
+    page.setAllowParentMismatch(in.readBoolean());
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      page.addChildRef(new ChildRef(readPageRef(in, books)));
+    }
+    page.setAllowChildMismatch(in.readBoolean());
+    // Elements
+    int elementCount = in.readInt();
+    if (elementCount < 0) {
+      throw new StreamCorruptedException("Negative element count: " + elementCount);
+    }
+    List<Element> elements = new ArrayList<>(Math.min(elementCount, MAX_PREALLOCATE));
+    List<ElementSerializer<?>> serializers = new ArrayList<>(Math.min(elementCount, MAX_PREALLOCATE));
+    for (int i = 0; i < elementCount; i++) {
+      String typeName = in.readUTF();
+      ElementSerializer<?> serializer = serializersByName.get(typeName);
+      if (serializer == null) {
+        throw new NotSerializableException(typeName);
+      }
+      Element element = serializer.readElement(in);
+      page.addElement(element);
+      String id = readString(in);
+      element.setId(id, in.readBoolean());
+      elements.add(element);
+      serializers.add(serializer);
+    }
+    // Node content
+    readNode(page, elements, serializers, in, books);
+    for (Element element : elements) {
+      readNode(element, elements, serializers, in, books);
+    }
+    return page.freeze();
+  }
+
+  private static void readNode(
+      Node node,
+      List<Element> elements,
+      List<ElementSerializer<?>> serializers,
+      DataInput in,
+      Function<? super String, ? extends Book> books
+  ) throws IOException {
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      node.setProperty(readString(in), readPropertyValue(in));
+    }
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      node.addPageLink(readPageRef(in, books));
+    }
+    String body = readString(in);
+    if (body != null) {
+      BufferWriter bodyWriter = new SegmentedWriter();
+      try {
+        bodyWriter.write(body);
+      } finally {
+        bodyWriter.close();
+      }
+      node.setBody(bodyWriter.getResult());
+    }
+    for (int i = 0, count = in.readInt(); i < count; i++) {
+      int index = in.readInt();
+      long elementKey = in.readLong();
+      if (index < 0 || index >= elements.size()) {
+        throw new StreamCorruptedException("Element index out of range: " + index);
+      }
+      Element childElement = elements.get(index);
+      node.addChildElement(childElement, getElementWriter(serializers.get(index), childElement), elementKey);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Element> ElementWriter getElementWriter(ElementSerializer<E> serializer, Element element) {
+    return serializer.getElementWriter((E) element);
+  }
+
+  private static Object readPropertyValue(DataInput in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case TYPE_NULL:
+        return null;
+      case TYPE_STRING:
+        return readString(in);
+      case TYPE_BOOLEAN:
+        return in.readBoolean();
+      case TYPE_INTEGER:
+        return in.readInt();
+      case TYPE_LONG:
+        return in.readLong();
+      case TYPE_DOUBLE:
+        return in.readDouble();
+      default:
+        throw new StreamCorruptedException("Unexpected property type: " + type);
+    }
+  }
+
+  private static PageRef readPageRef(DataInput in, Function<? super String, ? extends Book> books) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    String bookName = readString(in);
+    String path = readString(in);
+    Book book = books.apply(bookName);
+    return book == null ? new PageRef(bookName, path) : new PageRef(book, path);
+  }
+
+  private static Copyright readCopyright(DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    return new Copyright(readString(in), readString(in), readString(in));
+  }
+
+  private static DateTime readDateTime(DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    long millis = in.readLong();
+    return new DateTime(millis, DateTimeZone.forID(in.readUTF()));
+  }
+
+  private static Boolean readBoolean(DataInput in) throws IOException {
+    byte value = in.readByte();
+    switch (value) {
+      case NULL:
+        return null;
+      case FALSE:
+        return Boolean.FALSE;
+      case TRUE:
+        return Boolean.TRUE;
+      default:
+        throw new StreamCorruptedException("Unexpected boolean: " + value);
+    }
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(java.lang.String, java.io.DataOutput)}.
+   * The length is not trusted: the bytes are allocated as they are read.
+   */
+  static String readString(DataInput in) throws IOException {
+    int len = in.readInt();
+    if (len == -1) {
+      return null;
+    }
+    if (len < 0) {
+      throw new StreamCorruptedException("Negative string length: " + len);
+    }
+    byte[] bytes = new byte[Math.min(len, MAX_PREALLOCATE)];
+    int pos = 0;
+    while (true) {
+      in.readFully(bytes, pos, bytes.length - pos);
+      pos = bytes.length;
+      if (pos == len) {
+        break;
+      }
+      bytes = Arrays.copyOf(bytes, (int) Math.min(len, pos * 2L));
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Indexes frozen pages by each of their dates, for range and most-recent queries in logarithmic time
+ * instead of scanning every page.  Pages without a given date are not in the index for that date.
+ *
+ * <p>Reads are lock-free and may be concurrent with updates.  Updates are serialized, and a range query
+ * concurrent with the replacement of a page may miss that page or return its previous version.</p>
+ */
+public class PageDateIndex {
+
+  /**
+   * The dates of a page that are indexed.
+   */
+  public enum DateType {
+    CREATED {
+      @Override
+      Instant getInstant(Page page) {
+        return page.getDateCreatedInstant();
+      }
+    },
+    PUBLISHED {
+      @Override
+      Instant getInstant(Page page) {
+        return page.getDatePublishedInstant();
+      }
+    },
+    MODIFIED {
+      @Override
+      Instant getInstant(Page page) {
+        return page.getDateModifiedInstant();
+      }
+    },
+    REVIEWED {
+      @Override
+      Instant getInstant(Page page) {
+        return page.getDateReviewedInstant();
+      }
+    };
+
+    abstract Instant getInstant(Page page);
+  }
+
+  /**
+   * Orders by date then by page.  An entry without a page is a search bound, which is before all pages
+   * of the same date.
+   */
+  private static final class Entry implements Comparable<Entry> {
+
+    private final long millis;
+    private final Page page;
+
+    private Entry(long millis, Page page) {
+      this.millis = millis;
+      this.page = page;
+    }
+
+    @Override
+    public int compareTo(Entry o) {
+      int diff = Long.compare(millis, o.millis);
+      if (diff != 0) {
+        return diff;
+      }
+      if (page == null) {
+        return o.page == null ? 0 : -1;
+      }
+      if (o.page == null) {
+        return 1;
+      }
+      return page.getPageRef().compareTo(o.page.getPageRef());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return (obj instanceof Entry) && compareTo((Entry) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(millis) * 31 + (page == null ? 0 : page.getPageRef().hashCode());
+    }
+  }
+
+  private final Object lock = new Object();
+  private final Map<PageRef, Page> pages = new ConcurrentHashMap<>();
+  private final Map<DateType, NavigableSet<Entry>> indexes = new EnumMap<>(DateType.class);
+
+  public PageDateIndex() {
+    for (DateType type : DateType.values()) {
+      indexes.put(type, new ConcurrentSkipListSet<>());
+    }
+  }
+
+  /**
+   * Adds a page to the index, replacing any page with the same {@link PageRef}.
+   *
+   * @return  the page replaced or {@code null} if none
+   *
+   * @throws  IllegalArgumentException  if the page is not frozen
+   */
+  public Page put(Page page) throws IllegalArgumentException {
+    if (!page.frozen) {
+      throw new IllegalArgumentException("Page not frozen: " + page);
+    }
+    synchronized (lock) {
+      Page old = pages.put(page.getPageRef(), page);
+      if (old != null) {
+        removeEntries(old);
+      }
+      for (DateType type : DateType.values()) {
+        Instant instant = type.getInstant(page);
+        if (instant != null) {
+          indexes.get(type).add(new Entry(instant.toEpochMilli(), page));
+        }
+      }
+      return old;
+    }
+  }
+
+  /**
+   * Removes a page from the index.
+   *
+   * @return  the page removed or {@code null} if not in the index
+   */
+  public Page remove(PageRef pageRef) {
+    synchronized (lock) {
+      Page old = pages.remove(pageRef);
+      if (old != null) {
+        removeEntries(old);
+      }
+      return old;
+    }
+  }
+
+  private void removeEntries(Page page) {
+    assert Thread.holdsLock(lock);
+    for (DateType type : DateType.values()) {
+      Instant instant = type.getInstant(page);
+      if (instant != null) {
+        indexes.get(type).remove(new Entry(instant.toEpochMilli(), page));
+      }
+    }
+  }
+
+  /**
+   * Gets the number of pages in the index.
+   */
+  public int size() {
+    return pages.size();
+  }
+
+  /**
+   * Gets the page currently in the index for the given {@link PageRef}.
+   */
+  public Page get(PageRef pageRef) {
+    return pages.get(pageRef);
+  }
+
+  /**
+   * Gets the pages with the given date in a range, in ascending order by date.
+   *
+   * @param  from  the start of the range, inclusive, or {@code null} for no start
+   * @param  to    the end of the range, exclusive, or {@code null} for no end
+   */
+  public List<Page> getRange(DateType type, Instant from, Instant to) {
+    NavigableSet<Entry> index = indexes.get(type);
+    NavigableSet<Entry> range;
+    if (from == null) {
+      range = to == null ? index : index.headSet(new Entry(to.toEpochMilli(), null), false);
+    } else if (to == null) {
+      range = index.tailSet(new Entry(from.toEpochMilli(), null), true);
+    } else {
+      long fromMillis = from.toEpochMilli();
+      long toMillis = to.toEpochMilli();
+      if (toMillis <= fromMillis) {
+        return Collections.emptyList();
+      }
+      range = index.subSet(new Entry(fromMillis, null), true, new Entry(toMillis, null), false);
+    }
+    List<Page> result = new ArrayList<>();
+    for (Entry entry : range) {
+      result.add(entry.page);
+    }
+    return result;
+  }
+
+  /**
+   * Gets up to the given number of pages with the most recent of the given date, in descending order by date.
+   */
+  public List<Page> getLatest(DateType type, int limit) {
+    return getFirst(indexes.get(type).descendingIterator(), limit);
+  }
+
+  /**
+   * Gets up to the given number of pages with the oldest of the given date, in ascending order by date.
+   * For example, the pages most in need of review.
+   */
+  public List<Page> getEarliest(DateType type, int limit) {
+    return getFirst(indexes.get(type).iterator(), limit);
+  }
+
+  private static List<Page> getFirst(Iterator<Entry> iter, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit < 0: " + limit);
+    }
+    List<Page> result = new ArrayList<>(Math.min(limit, 16));
+    while (result.size() < limit && iter.hasNext()) {
+      result.add(iter.next().page);
+    }
+    return result;
+  }
+}
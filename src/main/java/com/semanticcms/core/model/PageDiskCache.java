@@ -0,0 +1,249 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent cache of frozen pages on disk, keyed by {@link PageRef}.  Each entry records the
+ * modification time of the page source, resolved through {@link PageRef#getResourceFile(boolean, boolean)},
+ * and is only used while the source is unchanged.  This allows a restarted server to use unchanged pages
+ * without rebuilding them.
+ *
+ * <p>Entries are replaced atomically, so concurrent readers, including in other processes, see either the
+ * old or the new entry.  Entries are read through memory-mapped files.  Corrupt entries are removed, while
+ * entries that cannot be read by this cache's {@link PageCodec}, such as for a missing serializer, are left
+ * for other caches sharing the directory.</p>
+ *
+ * <p>Only the modification time of the page source itself is checked.  Pages that depend on other resources
+ * must be {@linkplain #remove(com.semanticcms.core.model.PageRef) removed} when those resources change.</p>
+ */
+public class PageDiskCache {
+
+  private static final Logger logger = Logger.getLogger(PageDiskCache.class.getName());
+
+  /**
+   * The first four bytes of every entry, "SCPC".
+   */
+  private static final int MAGIC = 0x53435043;
+
+  /**
+   * The current version of the entry header, incremented on any incompatible change.
+   */
+  private static final short VERSION = 1;
+
+  private static final String SUFFIX = ".page";
+
+  private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+  private final Path directory;
+  private final PageCodec codec;
+  private final Function<? super String, ? extends Book> books;
+
+  /**
+   * Creates a cache in the given directory, creating the directory when missing.
+   *
+   * @param  books  resolves book names for pages read from the cache,
+   *                see {@link PageCodec#readPage(java.io.DataInput, java.util.function.Function)}
+   */
+  public PageDiskCache(Path directory, PageCodec codec, Function<? super String, ? extends Book> books) throws IOException {
+    this.directory = Files.createDirectories(NullArgumentException.checkNotNull(directory, "directory"));
+    this.codec = NullArgumentException.checkNotNull(codec, "codec");
+    this.books = NullArgumentException.checkNotNull(books, "books");
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Gets the modification time of the source of a page, to be captured before the page is built and then
+   * passed to {@link #put(com.semanticcms.core.model.Page, long)}.
+   *
+   * @return  the modification time or {@code 0} when the book is not available or the source does not exist
+   */
+  public static long getSourceLastModified(PageRef pageRef) throws IOException {
+    File resourceFile = pageRef.getResourceFile(false, false);
+    return resourceFile == null ? 0 : resourceFile.lastModified();
+  }
+
+  /**
+   * Gets the path of the entry for the given page.  Entries are named by a hash of the servlet path,
+   * spread across subdirectories by the first two characters of the hash.
+   */
+  private Path getEntryPath(PageRef pageRef) {
+    byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256").digest(pageRef.getServletPath().getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is required on all Java platforms", e);
+    }
+    char[] hex = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      int b = hash[i];
+      hex[i * 2] = HEX_CHARS[(b >> 4) & 0xf];
+      hex[i * 2 + 1] = HEX_CHARS[b & 0xf];
+    }
+    return directory.resolve(new String(hex, 0, 2)).resolve(new String(hex, 2, hex.length - 2) + SUFFIX);
+  }
+
+  /**
+   * Gets a page from the cache.
+   *
+   * @return  the frozen page or {@code null} when not cached or the source has changed since the page was cached
+   */
+  public Page get(PageRef pageRef) throws IOException {
+    long sourceLastModified = getSourceLastModified(pageRef);
+    if (sourceLastModified == 0) {
+      return null;
+    }
+    Path entryPath = getEntryPath(pageRef);
+    BasicFileAttributes attrs;
+    MappedByteBuffer buffer;
+    try {
+      attrs = Files.readAttributes(entryPath, BasicFileAttributes.class);
+      try (FileChannel channel = FileChannel.open(entryPath, StandardOpenOption.READ)) {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer))) {
+      int magic = in.readInt();
+      short version = in.readShort();
+      if (magic != MAGIC || version != VERSION) {
+        throw new StreamCorruptedException("Unexpected cache entry header");
+      }
+      String servletPath = PageCodec.readString(in);
+      if (
+          !pageRef.getServletPath().equals(servletPath)
+              || in.readLong() != sourceLastModified
+      ) {
+        return null;
+      }
+      return codec.readPage(in, books);
+    } catch (StreamCorruptedException | EOFException | UTFDataFormatException e) {
+      // Only a damaged entry is removed, and only when not already replaced by a concurrent put
+      if (logger.isLoggable(Level.WARNING)) {
+        logger.log(Level.WARNING, "Removing corrupt cache entry for " + pageRef + ": " + entryPath, e);
+      }
+      removeIfUnchanged(entryPath, attrs);
+      return null;
+    } catch (IOException | RuntimeException e) {
+      // Not necessarily corrupt, such as NotSerializableException from a codec missing a serializer, so the
+      // entry is left for other readers sharing the directory
+      if (logger.isLoggable(Level.WARNING)) {
+        logger.log(Level.WARNING, "Unable to read cache entry for " + pageRef + ": " + entryPath, e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Removes an entry unless it has been replaced since its attributes were read.
+   */
+  private static void removeIfUnchanged(Path entryPath, BasicFileAttributes attrs) throws IOException {
+    BasicFileAttributes current;
+    try {
+      current = Files.readAttributes(entryPath, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      return;
+    }
+    Object fileKey = attrs.fileKey();
+    if (
+        (fileKey == null || fileKey.equals(current.fileKey()))
+            && attrs.lastModifiedTime().equals(current.lastModifiedTime())
+            && attrs.size() == current.size()
+    ) {
+      Files.deleteIfExists(entryPath);
+    }
+  }
+
+  /**
+   * Adds or replaces a page in the cache.
+   *
+   * @param  sourceLastModified  the modification time of the page source from before the page was built,
+   *                             as returned by {@link #getSourceLastModified(com.semanticcms.core.model.PageRef)}
+   *
+   * @return  {@code true} when cached or {@code false} when the page has no source to validate against
+   */
+  public boolean put(Page page, long sourceLastModified) throws IOException {
+    if (sourceLastModified == 0) {
+      return false;
+    }
+    PageRef pageRef = page.getPageRef();
+    Path entryPath = getEntryPath(pageRef);
+    Path entryDirectory = Files.createDirectories(entryPath.getParent());
+    Path tempPath = Files.createTempFile(entryDirectory, null, ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        PageCodec.writeString(pageRef.getServletPath(), out);
+        out.writeLong(sourceLastModified);
+        codec.writePage(page, out);
+      }
+      try {
+        Files.move(tempPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempPath);
+    }
+    return true;
+  }
+
+  /**
+   * Removes a page from the cache.
+   *
+   * @return  {@code true} when an entry was removed
+   */
+  public boolean remove(PageRef pageRef) throws IOException {
+    return Files.deleteIfExists(getEntryPath(pageRef));
+  }
+}
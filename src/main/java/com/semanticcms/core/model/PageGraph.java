@@ -0,0 +1,301 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable graph of the parent and child references between a set of frozen pages, typically all the
+ * pages of a book.  Each page is given a dense integer id, in {@link PageRef} order, and edges are stored as
+ * arrays of ids.  This allows traversals, such as breadcrumbs and site trees, without a {@link PageRef}
+ * lookup per hop.
+ *
+ * <p>Only references between pages in the graph are included; references to any other page are ignored.</p>
+ */
+public class PageGraph {
+
+  private static final int[] EMPTY = new int[0];
+
+  private final Page[] pages;
+  private final Map<PageRef, Integer> ids;
+  private final int[][] parents;
+  private final int[][] children;
+  private final int[][] sortedParents;
+  private final int[][] sortedChildren;
+
+  /**
+   * Creates a graph of the given pages.
+   *
+   * @throws  IllegalArgumentException  if any page is not frozen or more than one page has the same {@link PageRef}
+   */
+  public PageGraph(Iterable<? extends Page> pages) throws IllegalArgumentException {
+    List<Page> list = new ArrayList<>();
+    for (Page page : pages) {
+      if (!page.frozen) {
+        throw new IllegalArgumentException("Page not frozen: " + page);
+      }
+      list.add(page);
+    }
+    PageRef.sort(list, Page::getPageRef);
+    int size = list.size();
+    this.pages = list.toArray(new Page[size]);
+    this.ids = new HashMap<>(size * 4 / 3 + 1);
+    for (int id = 0; id < size; id++) {
+      if (ids.put(this.pages[id].getPageRef(), id) != null) {
+        throw new IllegalArgumentException("Duplicate page: " + this.pages[id].getPageRef());
+      }
+    }
+    this.parents = new int[size][];
+    this.children = new int[size][];
+    this.sortedParents = new int[size][];
+    this.sortedChildren = new int[size][];
+    for (int id = 0; id < size; id++) {
+      Page page = this.pages[id];
+      parents[id] = toIds(page.getParentRefs());
+      sortedParents[id] = sort(parents[id]);
+      children[id] = toIds(page.getChildRefs());
+      sortedChildren[id] = sort(children[id]);
+    }
+  }
+
+  private int[] toIds(Set<? extends PageReferrer> refs) {
+    if (refs.isEmpty()) {
+      return EMPTY;
+    }
+    int[] result = new int[refs.size()];
+    int count = 0;
+    for (PageReferrer ref : refs) {
+      Integer id = ids.get(ref.getPageRef());
+      if (id != null) {
+        result[count++] = id;
+      }
+    }
+    return count == 0 ? EMPTY : count == result.length ? result : Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Since ids are assigned in {@link PageRef} order, sorting by id is sorting by page.
+   */
+  private static int[] sort(int[] ids) {
+    if (ids.length < 2) {
+      return ids;
+    }
+    int[] sorted = ids.clone();
+    Arrays.sort(sorted);
+    return Arrays.equals(ids, sorted) ? ids : sorted;
+  }
+
+  /**
+   * Gets the number of pages in the graph.
+   */
+  public int size() {
+    return pages.length;
+  }
+
+  /**
+   * Gets the id of the given page.
+   *
+   * @return  the id or {@code -1} when the page is not in the graph
+   */
+  public int getId(PageRef pageRef) {
+    Integer id = ids.get(pageRef);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Gets the page for the given id.
+   */
+  public Page getPage(int id) {
+    return pages[id];
+  }
+
+  public int getParentCount(int id) {
+    return parents[id].length;
+  }
+
+  /**
+   * Gets a parent of a page, in the order declared by the page.
+   */
+  public int getParent(int id, int index) {
+    return parents[id][index];
+  }
+
+  /**
+   * Gets the parents of a page, in the order declared by the page.
+   */
+  public int[] getParents(int id) {
+    return parents[id].clone();
+  }
+
+  /**
+   * Gets the parents of a page, in {@link PageRef} order.
+   */
+  public int[] getSortedParents(int id) {
+    return sortedParents[id].clone();
+  }
+
+  public int getChildCount(int id) {
+    return children[id].length;
+  }
+
+  /**
+   * Gets a child of a page, in the order declared by the page.
+   */
+  public int getChild(int id, int index) {
+    return children[id][index];
+  }
+
+  /**
+   * Gets the children of a page, in the order declared by the page.
+   */
+  public int[] getChildren(int id) {
+    return children[id].clone();
+  }
+
+  /**
+   * Gets the children of a page, in {@link PageRef} order.
+   */
+  public int[] getSortedChildren(int id) {
+    return sortedChildren[id].clone();
+  }
+
+  /**
+   * Gets every path from a page without parents down to the given page, following parent references.
+   * Each path starts at the top-most page and ends with the given page.  A parent that is already in a
+   * path is not followed again, so cycles do not cause infinite paths.
+   */
+  public List<int[]> getAncestorPaths(int id) {
+    List<int[]> paths = new ArrayList<>();
+    int[] path = new int[pages.length];
+    boolean[] inPath = new boolean[pages.length];
+    addAncestorPaths(id, path, 0, inPath, paths);
+    return paths;
+  }
+
+  private void addAncestorPaths(int id, int[] path, int depth, boolean[] inPath, List<int[]> paths) {
+    path[depth] = id;
+    inPath[id] = true;
+    boolean followed = false;
+    for (int parent : parents[id]) {
+      if (!inPath[parent]) {
+        followed = true;
+        addAncestorPaths(parent, path, depth + 1, inPath, paths);
+      }
+    }
+    if (!followed) {
+      // Reached the top, path is currently stored bottom-up
+      int[] topDown = new int[depth + 1];
+      for (int i = 0; i <= depth; i++) {
+        topDown[i] = path[depth - i];
+      }
+      paths.add(topDown);
+    }
+    inPath[id] = false;
+  }
+
+  /**
+   * Finds all cycles in the parent references.  Each cycle is returned as the sorted ids of the pages
+   * that are all ancestors of one another, which includes any page that is its own parent.
+   *
+   * @return  the cycles or an empty list when there are none
+   */
+  public List<int[]> getCycles() {
+    // Iterative version of Tarjan's strongly connected components algorithm
+    int size = pages.length;
+    int[] index = new int[size];
+    Arrays.fill(index, -1);
+    int[] low = new int[size];
+    boolean[] onStack = new boolean[size];
+    int[] stack = new int[size];
+    int stackSize = 0;
+    int[] work = new int[size];
+    int[] workEdge = new int[size];
+    int nextIndex = 0;
+    List<int[]> cycles = new ArrayList<>();
+    for (int root = 0; root < size; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+      index[root] = low[root] = nextIndex++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      work[0] = root;
+      workEdge[0] = 0;
+      int workSize = 1;
+      while (workSize > 0) {
+        int v = work[workSize - 1];
+        int[] adjacent = parents[v];
+        int edge = workEdge[workSize - 1];
+        if (edge < adjacent.length) {
+          workEdge[workSize - 1] = edge + 1;
+          int w = adjacent[edge];
+          if (index[w] == -1) {
+            index[w] = low[w] = nextIndex++;
+            stack[stackSize++] = w;
+            onStack[w] = true;
+            work[workSize] = w;
+            workEdge[workSize] = 0;
+            workSize++;
+          } else if (onStack[w]) {
+            low[v] = Math.min(low[v], index[w]);
+          }
+        } else {
+          workSize--;
+          if (workSize > 0) {
+            int u = work[workSize - 1];
+            low[u] = Math.min(low[u], low[v]);
+          }
+          if (low[v] == index[v]) {
+            int start = stackSize;
+            do {
+              start--;
+              onStack[stack[start]] = false;
+            } while (stack[start] != v);
+            if (stackSize - start > 1 || isOwnParent(v)) {
+              int[] cycle = Arrays.copyOfRange(stack, start, stackSize);
+              Arrays.sort(cycle);
+              cycles.add(cycle);
+            }
+            stackSize = start;
+          }
+        }
+      }
+    }
+    return cycles;
+  }
+
+  private boolean isOwnParent(int id) {
+    for (int parent : parents[id]) {
+      if (parent == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,377 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the pages of one {@link Book}, by {@link PageRef#getPath() path}, as a trie of path segments.
+ * Supports enumerating all pages under a path prefix and finding the page with the longest path matching a
+ * request path, both in time proportional to the depth of the path instead of the number of pages.
+ *
+ * <p>The trie is persistent: each update copies the nodes along the path changed, then publishes a new root.
+ * Reads are lock-free and always see a consistent snapshot, while updates are serialized.</p>
+ *
+ * @param  <V>  the type of value indexed, such as {@link Page}
+ */
+public final class PagePathIndex<V> {
+
+  /**
+   * An immutable node of the trie.  The path of a directory, ending in a slash, is stored as an
+   * empty final segment.
+   */
+  private static final class Node<V> {
+
+    private static final String[] EMPTY_SEGMENTS = new String[0];
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Node<?> EMPTY = new Node(EMPTY_SEGMENTS, new Node[0], null, 0);
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V> empty() {
+      return (Node<V>) EMPTY;
+    }
+
+    /**
+     * The segments of the children, sorted.
+     */
+    private final String[] segments;
+    private final Node<V>[] children;
+    private final Map.Entry<PageRef, V> entry;
+    /**
+     * The number of entries in this node and all its descendants.
+     */
+    private final int size;
+
+    private Node(String[] segments, Node<V>[] children, Map.Entry<PageRef, V> entry, int size) {
+      this.segments = segments;
+      this.children = children;
+      this.entry = entry;
+      this.size = size;
+    }
+
+    private Node<V> getChild(String segment) {
+      int index = Arrays.binarySearch(segments, segment);
+      return index < 0 ? null : children[index];
+    }
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private Node<V> withEntry(Map.Entry<PageRef, V> newEntry) {
+      int newSize = size - (entry == null ? 0 : 1) + (newEntry == null ? 0 : 1);
+      return new Node<>(segments, children, newEntry, newSize);
+    }
+
+    /**
+     * Replaces, adds, or removes a child.
+     *
+     * @param  newChild  the new child or {@code null} to remove the child
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<V> withChild(String segment, Node<V> newChild) {
+      int index = Arrays.binarySearch(segments, segment);
+      if (index >= 0) {
+        int newSize = size - children[index].size;
+        if (newChild == null) {
+          int len = segments.length;
+          String[] newSegments = new String[len - 1];
+          Node<V>[] newChildren = new Node[len - 1];
+          System.arraycopy(segments, 0, newSegments, 0, index);
+          System.arraycopy(segments, index + 1, newSegments, index, len - index - 1);
+          System.arraycopy(children, 0, newChildren, 0, index);
+          System.arraycopy(children, index + 1, newChildren, index, len - index - 1);
+          return new Node<>(newSegments, newChildren, entry, newSize);
+        } else {
+          Node<V>[] newChildren = children.clone();
+          newChildren[index] = newChild;
+          return new Node<>(segments, newChildren, entry, newSize + newChild.size);
+        }
+      } else {
+        if (newChild == null) {
+          return this;
+        }
+        int insert = -(index + 1);
+        int len = segments.length;
+        String[] newSegments = new String[len + 1];
+        Node<V>[] newChildren = new Node[len + 1];
+        System.arraycopy(segments, 0, newSegments, 0, insert);
+        System.arraycopy(segments, insert, newSegments, insert + 1, len - insert);
+        System.arraycopy(children, 0, newChildren, 0, insert);
+        System.arraycopy(children, insert, newChildren, insert + 1, len - insert);
+        newSegments[insert] = segment;
+        newChildren[insert] = newChild;
+        return new Node<>(newSegments, newChildren, entry, size + newChild.size);
+      }
+    }
+
+    private void addEntries(List<Map.Entry<PageRef, V>> list) {
+      if (entry != null) {
+        list.add(entry);
+      }
+      for (Node<V> child : children) {
+        child.addEntries(list);
+      }
+    }
+  }
+
+  /**
+   * Splits a path into its segments, not including the leading slash.
+   * A trailing slash results in an empty final segment.
+   */
+  private static String[] split(String path) {
+    if (!path.startsWith("/")) {
+      throw new IllegalArgumentException("Path does not begin with a slash: " + path);
+    }
+    int count = 0;
+    for (int i = 0, len = path.length(); i < len; i++) {
+      if (path.charAt(i) == '/') {
+        count++;
+      }
+    }
+    String[] segments = new String[count];
+    int start = 1;
+    for (int i = 0; i < count; i++) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = path.length();
+      }
+      segments[i] = path.substring(start, end);
+      start = end + 1;
+    }
+    return segments;
+  }
+
+  private final String bookName;
+
+  private final Object lock = new Object();
+
+  private volatile Node<V> root = Node.empty();
+
+  /**
+   * Creates an empty index for the given book.
+   */
+  public PagePathIndex(String bookName) {
+    this.bookName = NullArgumentException.checkNotNull(bookName, "bookName");
+  }
+
+  /**
+   * Creates an empty index for the given book.
+   */
+  public PagePathIndex(Book book) {
+    this(NullArgumentException.checkNotNull(book, "book").getName());
+  }
+
+  public String getBookName() {
+    return bookName;
+  }
+
+  /**
+   * Gets the number of pages in the index.
+   */
+  public int size() {
+    return root.size;
+  }
+
+  /**
+   * Adds or replaces the value for a page.
+   *
+   * @return  the previous value or {@code null} when none
+   *
+   * @throws  IllegalArgumentException  when the page is not in this index's book
+   */
+  public V put(PageRef pageRef, V value) throws IllegalArgumentException {
+    NullArgumentException.checkNotNull(value, "value");
+    if (!pageRef.getBookName().equals(bookName)) {
+      throw new IllegalArgumentException("pageRef not in book \"" + bookName + "\": " + pageRef);
+    }
+    String[] segments = split(pageRef.getPath());
+    Map.Entry<PageRef, V> newEntry = new AbstractMap.SimpleImmutableEntry<>(pageRef, value);
+    synchronized (lock) {
+      Node<V> oldRoot = root;
+      Node<V> oldNode = getNode(oldRoot, segments);
+      root = update(oldRoot, segments, 0, newEntry);
+      return oldNode == null || oldNode.entry == null ? null : oldNode.entry.getValue();
+    }
+  }
+
+  /**
+   * Removes the value for a page.
+   *
+   * @return  the previous value or {@code null} when none
+   */
+  public V remove(PageRef pageRef) {
+    if (!pageRef.getBookName().equals(bookName)) {
+      return null;
+    }
+    String[] segments = split(pageRef.getPath());
+    synchronized (lock) {
+      Node<V> oldRoot = root;
+      Node<V> node = getNode(oldRoot, segments);
+      if (node == null || node.entry == null) {
+        return null;
+      }
+      Node<V> newRoot = update(oldRoot, segments, 0, null);
+      root = newRoot == null ? Node.empty() : newRoot;
+      return node.entry.getValue();
+    }
+  }
+
+  /**
+   * Removes all pages.
+   */
+  public void clear() {
+    synchronized (lock) {
+      root = Node.empty();
+    }
+  }
+
+  /**
+   * Sets the entry at the given path, copying the nodes along the path.
+   *
+   * @param  newEntry  the new entry or {@code null} to remove
+   *
+   * @return  the new node or {@code null} when the node became empty
+   */
+  private static <V> Node<V> update(Node<V> node, String[] segments, int depth, Map.Entry<PageRef, V> newEntry) {
+    Node<V> newNode;
+    if (depth == segments.length) {
+      newNode = node.withEntry(newEntry);
+    } else {
+      String segment = segments[depth];
+      Node<V> child = node.getChild(segment);
+      if (child == null) {
+        if (newEntry == null) {
+          return node;
+        }
+        child = Node.empty();
+      }
+      newNode = node.withChild(segment, update(child, segments, depth + 1, newEntry));
+    }
+    return newNode.isEmpty() ? null : newNode;
+  }
+
+  private static <V> Node<V> getNode(Node<V> node, String[] segments) {
+    for (String segment : segments) {
+      node = node.getChild(segment);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Gets the value for the page at the given path.
+   *
+   * @return  the value or {@code null} when not in the index
+   */
+  public V get(String path) {
+    Node<V> node = getNode(root, split(path));
+    return node == null || node.entry == null ? null : node.entry.getValue();
+  }
+
+  /**
+   * Gets the value for the given page.
+   *
+   * @return  the value or {@code null} when not in the index
+   */
+  public V get(PageRef pageRef) {
+    return pageRef.getBookName().equals(bookName) ? get(pageRef.getPath()) : null;
+  }
+
+  /**
+   * Gets all pages with paths starting with the given prefix, such as {@code "/guides/"} for all pages
+   * within the guides directory, including {@code "/guides/"} itself.
+   *
+   * @return  the unmodifiable entries, in {@link PageRef} order
+   */
+  public List<Map.Entry<PageRef, V>> getPrefixed(String pathPrefix) {
+    String[] segments = split(pathPrefix);
+    // All but the last segment must match exactly
+    int last = segments.length - 1;
+    Node<V> node = root;
+    for (int i = 0; i < last; i++) {
+      node = node.getChild(segments[i]);
+      if (node == null) {
+        return Collections.emptyList();
+      }
+    }
+    String lastSegment = segments[last];
+    List<Map.Entry<PageRef, V>> list = new ArrayList<>();
+    // Children with segments starting with the last segment, which is all children after a trailing slash
+    String[] childSegments = node.segments;
+    int start = Arrays.binarySearch(childSegments, lastSegment);
+    if (start < 0) {
+      start = -(start + 1);
+    }
+    for (int i = start; i < childSegments.length && childSegments[i].startsWith(lastSegment); i++) {
+      node.children[i].addEntries(list);
+    }
+    PageRef.sort(list, Map.Entry::getKey);
+    return Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Gets the page with the longest path that matches the beginning of the given request path.
+   * A page matches when its path equals the request path, when its path is a directory ending in a slash
+   * that the request path is within, or when the request path continues past its path with a slash.
+   * For example, {@code "/guides/intro/part-1"} is matched by {@code "/guides/intro/part-1"},
+   * {@code "/guides/intro"}, {@code "/guides/intro/"}, {@code "/guides/"}, and {@code "/"}, but not by
+   * {@code "/guides/in"}.
+   *
+   * @return  the entry of the longest matching page or {@code null} when no page matches
+   */
+  public Map.Entry<PageRef, V> getLongestPrefix(String path) {
+    String[] segments = split(path);
+    int len = segments.length;
+    Map.Entry<PageRef, V> best = null;
+    Node<V> node = root;
+    for (int depth = 0; ; depth++) {
+      if (node.entry != null) {
+        best = node.entry;
+      }
+      if (depth == len) {
+        break;
+      }
+      // The directory of the segments so far contains the remaining segments
+      Node<V> dirNode = node.getChild("");
+      if (dirNode != null && dirNode.entry != null) {
+        best = dirNode.entry;
+      }
+      node = node.getChild(segments[depth]);
+      if (node == null) {
+        break;
+      }
+    }
+    return best;
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2013, 2014, 2015, 2016, 2017, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,9 +24,16 @@
 package com.semanticcms.core.model;
 
 import com.aoapps.lang.NullArgumentException;
+import com.aoapps.lang.io.Encoder;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Function;
 
 /**
  * A page reference contains both a book and a path to a page or directory.
@@ -49,7 +56,7 @@ public class PageRef implements PageReferrer {
   private final Book book;
 
   private PageRef(String bookName, String path, Book book) {
-    this.bookName = book != null ? book.getName() : bookName;
+    this.bookName = book != null ? book.getName() : StringPool.intern(bookName);
     this.path = path;
     if (!path.startsWith("/")) {
       throw new IllegalArgumentException("Path does not begin with a slash: " + path);
@@ -57,6 +64,11 @@ public class PageRef implements PageReferrer {
     this.book = book;
   }
 
+  /**
+   * Interns {@link PageRef} instances that are not associated with a {@link Book}.
+   */
+  private static final WeakInterner<PageRef> bookless = new WeakInterner<>();
+
   public PageRef(String bookName, String path) {
     this(
         NullArgumentException.checkNotNull(bookName, "bookName"),
@@ -139,18 +151,116 @@ public class PageRef implements PageReferrer {
             && path.equals(other.path);
   }
 
+  private int hash; // Cached, zero when not yet computed
+
   @Override
   public int hashCode() {
-    return bookName.hashCode() * 31 + path.hashCode();
+    int h = hash;
+    if (h == 0) {
+      h = bookName.hashCode() * 31 + path.hashCode();
+      hash = h;
+    }
+    return h;
+  }
+
+  /**
+   * Gets the canonical instance equal to this reference, with its hash and servlet path already computed.
+   * Canonical instances are scoped to the {@link Book}, and shared by all references to the same page while
+   * any of them are in use, so that comparing canonical instances is most often an identity check.
+   *
+   * @return  the canonical instance, which may be this instance
+   */
+  public PageRef intern() {
+    hashCode();
+    getServletPath();
+    Book b = book;
+    return (b == null ? bookless : b.pageRefs).intern(this);
   }
 
   /**
    * Orders by servletPath.
+   * The book prefix and path are compared as if concatenated, without building the servlet path.
    *
    * @see  #getServletPath()
    */
   public int compareTo(PageRef o) {
-    return getServletPath().compareTo(o.getServletPath());
+    if (this == o) {
+      return 0;
+    }
+    String bn1 = bookName;
+    String bn2 = o.bookName;
+    if (bn1.equals(bn2)) {
+      return path.compareTo(o.path);
+    }
+    String prefix1 = "/".equals(bn1) ? "" : bn1;
+    String prefix2 = "/".equals(bn2) ? "" : bn2;
+    int prefixLen1 = prefix1.length();
+    int prefixLen2 = prefix2.length();
+    int len1 = prefixLen1 + path.length();
+    int len2 = prefixLen2 + o.path.length();
+    int lim = Math.min(len1, len2);
+    for (int i = 0; i < lim; i++) {
+      char c1 = i < prefixLen1 ? prefix1.charAt(i) : path.charAt(i - prefixLen1);
+      char c2 = i < prefixLen2 ? prefix2.charAt(i) : o.path.charAt(i - prefixLen2);
+      if (c1 != c2) {
+        return c1 - c2;
+      }
+    }
+    return len1 - len2;
+  }
+
+  private static final class SortKey implements Comparable<SortKey> {
+
+    private final PageRef pageRef;
+    private final Object item;
+
+    private SortKey(PageRef pageRef, Object item) {
+      this.pageRef = pageRef;
+      this.item = item;
+    }
+
+    @Override
+    public int compareTo(SortKey o) {
+      return pageRef.compareTo(o.pageRef);
+    }
+  }
+
+  /**
+   * Sorts a list of referrers by their page references, in the same order as {@link PageReferrer#compareTo(com.semanticcms.core.model.PageReferrer)}.
+   * Each page reference is looked-up once, instead of once per comparison, which is significantly faster than
+   * {@link java.util.Collections#sort(java.util.List)} for large lists of pages or elements.
+   * The sort is stable.
+   *
+   * @param  referrers  the list to sort in place, which must support {@link ListIterator#set(java.lang.Object)}
+   */
+  public static <R extends PageReferrer> void sort(List<R> referrers) {
+    sort(referrers, PageReferrer::getPageRef);
+  }
+
+  /**
+   * Sorts a list by the page reference of each item, such as a list of {@link Page}.
+   * Each page reference is looked-up once, instead of once per comparison.
+   * The sort is stable.
+   *
+   * @param  list  the list to sort in place, which must support {@link ListIterator#set(java.lang.Object)}
+   */
+  public static <T> void sort(List<T> list, Function<? super T, ? extends PageRef> pageRefGetter) {
+    int size = list.size();
+    if (size > 1) {
+      SortKey[] keys = new SortKey[size];
+      int i = 0;
+      for (T item : list) {
+        keys[i++] = new SortKey(pageRefGetter.apply(item), item);
+      }
+      Arrays.sort(keys);
+      ListIterator<T> iter = list.listIterator();
+      for (SortKey key : keys) {
+        iter.next();
+        @SuppressWarnings("unchecked")
+        T item = (T) key.item;
+        iter.set(item);
+      }
+    }
   }
 
   @Override
@@ -183,11 +293,23 @@ public class PageRef implements PageReferrer {
    * @see #getServletPath()
    */
   public void appendServletPath(Appendable out) throws IOException {
+    appendServletPath(null, out);
+  }
+
+  /**
+   * Appends the combination of the book and the path that refers to the
+   * page resource within the web application, encoded for the output context.
+   *
+   * @param  encoder  the optional encoder for the output context, such as for an HTML attribute
+   *
+   * @see #getServletPath()
+   */
+  public void appendServletPath(Encoder encoder, Appendable out) throws IOException {
     String bn = bookName;
     if (!"/".equals(bn)) {
-      out.append(bn);
+      IriEncoder.append(bn, encoder, out);
     }
-    out.append(path);
+    IriEncoder.append(path, encoder, out);
   }
 
   @Override
@@ -195,9 +317,6 @@ public class PageRef implements PageReferrer {
     return getServletPath();
   }
 
-  private volatile File resourceFile;
-  private volatile Boolean exists;
-
   /**
    * the underlying file, only available when have access to the referenced book.
    *
@@ -213,43 +332,47 @@ public class PageRef implements PageReferrer {
       }
       return null;
     } else {
-      File rf = resourceFile;
-      if (rf == null) {
-        File cvsworkDirectory = book.getCvsworkDirectory();
-        // Skip past first slash
-        assert path.charAt(0) == '/';
-        int start = 1;
-        // Skip past any trailing slashes
-        int end = path.length();
-        while (end > start && path.charAt(end - 1) == '/') {
-          end--;
-        }
-        String subPath = path.substring(start, end);
-        // Combine paths
-        rf = subPath.isEmpty() ? cvsworkDirectory : new File(cvsworkDirectory, subPath);
-        // The canonical file must be in the cvswork directory
-        String cvsworkCanonical = cvsworkDirectory.getCanonicalPath();
-        String cvsworkCanonicalPrefix = cvsworkCanonical + File.separatorChar;
-        String canonicalPath = rf.getCanonicalPath();
-        if (
-            !canonicalPath.equals(cvsworkCanonical)
-                && !canonicalPath.startsWith(cvsworkCanonicalPrefix)
-        ) {
-          throw new SecurityException('"' + canonicalPath + "\" is not in \"" + cvsworkCanonicalPrefix);
-        }
-        this.resourceFile = rf;
-      }
-      if (requireFile) {
-        Boolean e = this.exists;
-        if (e == null) {
-          e = rf.exists();
-          this.exists = e;
-        }
-        if (!e) {
-          throw new FileNotFoundException(rf.getPath());
-        }
+      return book.getResourceResolver().getResourceFile(path, requireFile);
+    }
+  }
+
+  /**
+   * the underlying file as a {@link Path}, only available when have access to the referenced book.
+   * The path is subject to the same cvswork directory containment check as {@link #getResourceFile(boolean, boolean)}.
+   *
+   * @param requireBook when true, will always get a Path object back
+   * @param requireFile when true, any Path object returned will exist on the filesystem
+   *
+   * @return null if not access to book or Path of resource path.
+   */
+  public Path getResourcePath(boolean requireBook, boolean requireFile) throws IOException {
+    File rf = getResourceFile(requireBook, requireFile);
+    return rf == null ? null : rf.toPath();
+  }
+
+  /**
+   * Reads the contents of the underlying file, only available when have access to the referenced book.
+   * Large files are memory-mapped, so parsing large sources avoids copying through stream buffers.
+   *
+   * <p>A memory-mapped buffer reflects the file as it changes.  When the file is truncated or rewritten in place
+   * while the buffer is in use, such as by an editor or version control, accessing the buffer past the new end of
+   * the file may fail with an {@link InternalError}.  Parse the buffer promptly and do not retain it.</p>
+   *
+   * @param requireBook when true, will always get a buffer back
+   *
+   * @return null if not access to book or a read-only buffer of the file contents, positioned at zero,
+   *         and not shared with any other caller.
+   *
+   * @throws  FileNotFoundException  when the file does not exist
+   */
+  public ByteBuffer readResource(boolean requireBook) throws IOException {
+    if (book == null) {
+      if (requireBook) {
+        throw new IOException("Book not found: " + bookName);
       }
-      return rf;
+      return null;
+    } else {
+      return book.getResourceResolver().readResource(path);
     }
   }
 }
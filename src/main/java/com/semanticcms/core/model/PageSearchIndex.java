@@ -0,0 +1,544 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.io.buffer.BufferResult;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An in-memory inverted index for full-text search of frozen pages.  The title, description, keywords,
+ * element labels, and the text of the body of the page and all its elements are indexed, with HTML tags
+ * and entities removed.  Terms are runs of letters and digits, compared case-insensitively.
+ *
+ * <p>Each term has a compact posting list: a sorted array of page ids, each followed by a score for the
+ * page, weighted by where in the page the term is found.  Posting lists are replaced, never modified, so
+ * searches are lock-free and may be concurrent with updates.  Updates are serialized, and a search
+ * concurrent with the replacement of a page may match its previous version, its new version, or neither.</p>
+ *
+ * <p>Page ids are never reused, so a search never resolves an id to a page other than the one indexed under
+ * it.  Once enough ids have been freed, the ids are compacted into a new generation of posting lists, which
+ * is published all at once so that a search sees either the previous or the new generation.</p>
+ */
+public class PageSearchIndex {
+
+  /**
+   * The score of each term occurrence, by where it is found.
+   */
+  private static final int
+      TITLE_WEIGHT = 16,
+      KEYWORDS_WEIGHT = 8,
+      DESCRIPTION_WEIGHT = 4,
+      LABEL_WEIGHT = 4,
+      BODY_WEIGHT = 1;
+
+  /**
+   * Terms longer than this are truncated.
+   */
+  private static final int MAX_TERM_LENGTH = 64;
+
+  /**
+   * The number of ints per page in a posting list: page id and score.
+   */
+  private static final int POSTING_SIZE = 2;
+
+  /**
+   * Ids are compacted once there are more freed ids than this and than indexed pages.
+   */
+  private static final int COMPACT_THRESHOLD = 1024;
+
+  private final Object lock = new Object();
+
+  /**
+   * One generation of page ids: the posting lists and the pages they refer to.
+   * The posting lists and pages of a generation are only modified for ids not yet used by that generation.
+   */
+  private static class Generation {
+
+    /**
+     * The posting lists, by term.
+     */
+    private final Map<String, int[]> postings = new ConcurrentHashMap<>();
+
+    /**
+     * The pages, by id.  Replaced when grown.
+     */
+    private volatile AtomicReferenceArray<Page> pages;
+
+    private Generation(int capacity) {
+      pages = new AtomicReferenceArray<>(capacity);
+    }
+  }
+
+  private volatile Generation generation = new Generation(16);
+
+  /**
+   * The id of each page and the terms indexed for each page, for removal.
+   */
+  private final Map<PageRef, Integer> ids = new HashMap<>();
+  private final Map<Integer, String[]> termsById = new HashMap<>();
+
+  /**
+   * The next id to allocate in the current generation.  Ids of removed pages are not reused.
+   */
+  private int nextId;
+
+  /**
+   * Adds a page to the index, replacing any page with the same {@link PageRef}.
+   *
+   * @throws  IllegalArgumentException  if the page is not frozen
+   */
+  public void put(Page page) throws IllegalArgumentException {
+    if (!page.frozen) {
+      throw new IllegalArgumentException("Page not frozen: " + page);
+    }
+    // Tokenize outside the lock
+    Map<String, Integer> scores = new HashMap<>();
+    Tokenizer tokenizer = new Tokenizer(scores);
+    try {
+      tokenizer.tokenize(page.getTitle(), TITLE_WEIGHT);
+      tokenizer.tokenize(page.getKeywords(), KEYWORDS_WEIGHT);
+      tokenizer.tokenize(page.getDescription(), DESCRIPTION_WEIGHT);
+      tokenizer.tokenizeBody(page);
+    } catch (IOException e) {
+      throw new AssertionError("Tokenizer does not throw IOException", e);
+    }
+    synchronized (lock) {
+      PageRef pageRef = page.getPageRef();
+      Integer existing = ids.get(pageRef);
+      if (existing != null) {
+        // The new version gets a new id, so the postings of the previous version never resolve to it
+        removeId(existing);
+      }
+      Generation g = generation;
+      int id = allocateId(g);
+      ids.put(pageRef, id);
+      String[] terms = scores.keySet().toArray(new String[scores.size()]);
+      for (String term : terms) {
+        g.postings.put(term, insert(g.postings.get(term), id, scores.get(term)));
+      }
+      termsById.put(id, terms);
+      g.pages.set(id, page);
+      compactIfNeeded();
+    }
+  }
+
+  /**
+   * Removes a page from the index.
+   *
+   * @return  {@code true} when the page was in the index
+   */
+  public boolean remove(PageRef pageRef) {
+    synchronized (lock) {
+      Integer id = ids.remove(pageRef);
+      if (id == null) {
+        return false;
+      }
+      removeId(id);
+      compactIfNeeded();
+      return true;
+    }
+  }
+
+  private int allocateId(Generation g) {
+    assert Thread.holdsLock(lock);
+    int id = nextId++;
+    AtomicReferenceArray<Page> p = g.pages;
+    if (id == p.length()) {
+      AtomicReferenceArray<Page> grown = new AtomicReferenceArray<>(p.length() * 2);
+      for (int i = 0; i < id; i++) {
+        grown.set(i, p.get(i));
+      }
+      g.pages = grown;
+    }
+    return id;
+  }
+
+  /**
+   * Removes the postings of an id.  The id is not reused until the next compaction.
+   */
+  private void removeId(int id) {
+    assert Thread.holdsLock(lock);
+    Generation g = generation;
+    for (String term : termsById.remove(id)) {
+      int[] removed = remove(g.postings.get(term), id);
+      if (removed.length == 0) {
+        g.postings.remove(term);
+      } else {
+        g.postings.put(term, removed);
+      }
+    }
+    g.pages.set(id, null);
+  }
+
+  /**
+   * Compacts the ids once enough have been freed.
+   */
+  private void compactIfNeeded() {
+    assert Thread.holdsLock(lock);
+    int live = ids.size();
+    int freed = nextId - live;
+    if (freed > COMPACT_THRESHOLD && freed > live) {
+      compact();
+    }
+  }
+
+  /**
+   * Renumbers the pages densely into a new generation.  Ids are renumbered in their existing order,
+   * so every posting list remains sorted.
+   */
+  private void compact() {
+    assert Thread.holdsLock(lock);
+    Generation old = generation;
+    AtomicReferenceArray<Page> oldPages = old.pages;
+    int[] newIds = new int[nextId];
+    Arrays.fill(newIds, -1);
+    int live = ids.size();
+    Generation g = new Generation(Math.max(16, live));
+    int newId = 0;
+    for (int id = 0; id < nextId; id++) {
+      Page page = oldPages.get(id);
+      if (page != null) {
+        newIds[id] = newId;
+        g.pages.set(newId, page);
+        newId++;
+      }
+    }
+    assert newId == live;
+    for (Map.Entry<String, int[]> entry : old.postings.entrySet()) {
+      int[] posting = entry.getValue().clone();
+      for (int i = 0; i < posting.length; i += POSTING_SIZE) {
+        posting[i] = newIds[posting[i]];
+      }
+      g.postings.put(entry.getKey(), posting);
+    }
+    for (Map.Entry<PageRef, Integer> entry : ids.entrySet()) {
+      entry.setValue(newIds[entry.getValue()]);
+    }
+    Map<Integer, String[]> newTermsById = new HashMap<>(termsById.size() * 4 / 3 + 1);
+    for (Map.Entry<Integer, String[]> entry : termsById.entrySet()) {
+      newTermsById.put(newIds[entry.getKey()], entry.getValue());
+    }
+    termsById.clear();
+    termsById.putAll(newTermsById);
+    nextId = newId;
+    generation = g;
+  }
+
+  /**
+   * Finds the position of a page id in a posting list.
+   *
+   * @return  the position or {@code -(insertion point) - 1} when not found
+   */
+  private static int find(int[] posting, int id) {
+    int low = 0;
+    int high = posting.length / POSTING_SIZE - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midId = posting[mid * POSTING_SIZE];
+      if (midId < id) {
+        low = mid + 1;
+      } else if (midId > id) {
+        high = mid - 1;
+      } else {
+        return mid * POSTING_SIZE;
+      }
+    }
+    return -(low * POSTING_SIZE) - 1;
+  }
+
+  private static int[] insert(int[] posting, int id, int score) {
+    if (posting == null) {
+      return new int[] {id, score};
+    }
+    int pos = find(posting, id);
+    assert pos < 0 : "Postings are removed before being replaced";
+    pos = -pos - 1;
+    int[] inserted = new int[posting.length + POSTING_SIZE];
+    System.arraycopy(posting, 0, inserted, 0, pos);
+    inserted[pos] = id;
+    inserted[pos + 1] = score;
+    System.arraycopy(posting, pos, inserted, pos + POSTING_SIZE, posting.length - pos);
+    return inserted;
+  }
+
+  private static int[] remove(int[] posting, int id) {
+    int pos = find(posting, id);
+    assert pos >= 0;
+    int[] removed = new int[posting.length - POSTING_SIZE];
+    System.arraycopy(posting, 0, removed, 0, pos);
+    System.arraycopy(posting, pos + POSTING_SIZE, removed, pos, removed.length - pos);
+    return removed;
+  }
+
+  /**
+   * Gets the number of pages in the index.
+   */
+  public int size() {
+    synchronized (lock) {
+      return ids.size();
+    }
+  }
+
+  /**
+   * Gets the number of distinct terms in the index.
+   */
+  public int getTermCount() {
+    return generation.postings.size();
+  }
+
+  /**
+   * Finds the pages containing every term of the query, ordered by descending score then by page.
+   *
+   * @param  limit  the maximum number of pages to return
+   *
+   * @return  the matching pages or an empty list when the query has no terms or nothing matches
+   */
+  public List<Page> search(String query, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit < 0: " + limit);
+    }
+    Map<String, Integer> queryTerms = new HashMap<>();
+    try {
+      new Tokenizer(queryTerms).tokenize(query, 1);
+    } catch (IOException e) {
+      throw new AssertionError("Tokenizer does not throw IOException", e);
+    }
+    if (queryTerms.isEmpty() || limit == 0) {
+      return new ArrayList<>();
+    }
+    // All lookups from one generation, so ids are consistent between posting lists and pages
+    Generation g = generation;
+    // Gather the posting lists, shortest first
+    int[][] lists = new int[queryTerms.size()][];
+    int count = 0;
+    for (String term : queryTerms.keySet()) {
+      int[] posting = g.postings.get(term);
+      if (posting == null) {
+        return new ArrayList<>();
+      }
+      lists[count++] = posting;
+    }
+    Arrays.sort(lists, (l1, l2) -> Integer.compare(l1.length, l2.length));
+    // Intersect, summing scores
+    int[] first = lists[0];
+    int matchCount = first.length / POSTING_SIZE;
+    int[] matchIds = new int[matchCount];
+    long[] matchScores = new long[matchCount];
+    int matches = 0;
+    MATCH :
+    for (int i = 0; i < first.length; i += POSTING_SIZE) {
+      int id = first[i];
+      long score = first[i + 1];
+      for (int j = 1; j < lists.length; j++) {
+        int pos = find(lists[j], id);
+        if (pos < 0) {
+          continue MATCH;
+        }
+        score += lists[j][pos + 1];
+      }
+      matchIds[matches] = id;
+      matchScores[matches] = score;
+      matches++;
+    }
+    AtomicReferenceArray<Page> p = g.pages;
+    List<Scored> scored = new ArrayList<>(matches);
+    for (int i = 0; i < matches; i++) {
+      int id = matchIds[i];
+      Page page = id < p.length() ? p.get(id) : null;
+      if (page != null) {
+        scored.add(new Scored(page, matchScores[i]));
+      }
+    }
+    scored.sort((s1, s2) -> {
+      int diff = Long.compare(s2.score, s1.score);
+      if (diff != 0) {
+        return diff;
+      }
+      return s1.page.compareTo(s2.page);
+    });
+    int size = Math.min(limit, scored.size());
+    List<Page> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(scored.get(i).page);
+    }
+    return result;
+  }
+
+  private static class Scored {
+
+    private final Page page;
+    private final long score;
+
+    private Scored(Page page, long score) {
+      this.page = page;
+      this.score = score;
+    }
+  }
+
+  /**
+   * Splits text into lower-case terms, adding the current weight to the score of each term.
+   * When writing HTML, tags and entities are skipped.
+   */
+  private static class Tokenizer extends Writer {
+
+    private static final int TEXT = 0;
+    private static final int TAG = 1;
+    private static final int ENTITY = 2;
+
+    /**
+     * Entities longer than this are treated as text, since "&amp;" is not required before all text.
+     */
+    private static final int MAX_ENTITY_LENGTH = 32;
+
+    private final Map<String, Integer> scores;
+    private final StringBuilder term = new StringBuilder();
+    private int weight;
+    private boolean html;
+    private int state = TEXT;
+    private int entityLength;
+
+    private Tokenizer(Map<String, Integer> scores) {
+      this.scores = scores;
+    }
+
+    /**
+     * Tokenizes plain text.
+     */
+    private void tokenize(String text, int weight) throws IOException {
+      if (text != null) {
+        this.weight = weight;
+        this.html = false;
+        state = TEXT;
+        entityLength = 0;
+        write(text);
+        flush();
+      }
+    }
+
+    /**
+     * Tokenizes the labels and bodies of a node and all its elements.
+     */
+    private void tokenizeBody(Node node) throws IOException {
+      if (node instanceof Element) {
+        tokenize(node.getLabel(), LABEL_WEIGHT);
+      }
+      BufferResult body = node.getBody();
+      if (body.getLength() > 0) {
+        weight = BODY_WEIGHT;
+        html = true;
+        state = TEXT;
+        entityLength = 0;
+        // Element markers are removed, since each element is tokenized separately below
+        try (NodeBodyWriter out = new NodeBodyWriter(node, this, null, true)) {
+          body.writeTo(out);
+        }
+        // A body may end within a tag or entity, such as a bare ampersand, which must not affect what follows
+        state = TEXT;
+        entityLength = 0;
+      }
+      for (Element childElement : node.getChildElements()) {
+        tokenizeBody(childElement);
+      }
+    }
+
+    @Override
+    public void write(int c) {
+      char ch = (char) c;
+      switch (state) {
+        case TAG:
+          if (ch == '>') {
+            state = TEXT;
+          }
+          return;
+        case ENTITY:
+          if (ch == ';') {
+            state = TEXT;
+            return;
+          }
+          if (Character.isLetterOrDigit(ch) || ch == '#') {
+            if (++entityLength <= MAX_ENTITY_LENGTH) {
+              return;
+            }
+          }
+          state = TEXT;
+          break;
+        default:
+          // Continue below
+      }
+      if (html && ch == '<') {
+        endTerm();
+        state = TAG;
+      } else if (html && ch == '&') {
+        endTerm();
+        state = ENTITY;
+        entityLength = 0;
+      } else if (Character.isLetterOrDigit(ch) || Character.isSurrogate(ch)) {
+        if (term.length() < MAX_TERM_LENGTH) {
+          term.append(Character.toLowerCase(ch));
+        }
+      } else {
+        endTerm();
+      }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      for (int i = off, end = off + len; i < end; i++) {
+        write(cbuf[i]);
+      }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      for (int i = off, end = off + len; i < end; i++) {
+        write(str.charAt(i));
+      }
+    }
+
+    private void endTerm() {
+      if (term.length() > 0) {
+        scores.merge(term.toString(), weight, Integer::sum);
+        term.setLength(0);
+      }
+    }
+
+    @Override
+    public void flush() {
+      endTerm();
+    }
+
+    @Override
+    public void close() {
+      endTerm();
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The size of the model of a page, computed once when the page is frozen.
+ * The totals of all pages currently in memory are available from {@link ModelStatistics}.
+ *
+ * @see  Page#getStatistics()
+ */
+public final class PageStatistics {
+
+  /**
+   * Rough per-object sizes, in bytes, for {@link #getEstimatedBytes()}.
+   * These approximate a 64-bit JVM with compressed references.
+   */
+  private static final int
+      NODE_BYTES = 96,
+      PAGE_BYTES = 192,
+      ELEMENT_BYTES = 48,
+      ELEMENT_WRITER_BYTES = 48,
+      PROPERTY_BYTES = 48,
+      REFERENCE_BYTES = 40,
+      STRING_BYTES = 40;
+
+  /**
+   * Accumulates the totals of each node.
+   */
+  private static class Totals {
+
+    private long bodyChars;
+    private int elementWriterCount;
+    private int propertyCount;
+    private int pageLinkCount;
+    private long estimatedBytes;
+
+    private void add(Node node) {
+      long nodeChars;
+      try {
+        nodeChars = node.getBody().getLength();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to get body length", e);
+      }
+      bodyChars += nodeChars;
+      int nodeWriters = node.getElementWriterCount();
+      elementWriterCount += nodeWriters;
+      int nodeProperties = node.getProperty().size();
+      propertyCount += nodeProperties;
+      int nodeLinks = node.getPageLinks().size();
+      pageLinkCount += nodeLinks;
+      estimatedBytes += NODE_BYTES
+          + nodeChars * Character.BYTES
+          + (long) nodeWriters * ELEMENT_WRITER_BYTES
+          + (long) nodeProperties * PROPERTY_BYTES
+          + (long) nodeLinks * REFERENCE_BYTES;
+    }
+  }
+
+  /**
+   * Computes the statistics of a page, including all its elements.
+   *
+   * @throws  UncheckedIOException  when the length of a body, which may be backed by a temporary file, cannot be read
+   */
+  static PageStatistics of(Page page) {
+    int referenceCount = page.getParentRefs().size() + page.getChildRefs().size() + page.getAuthors().size();
+    Totals totals = new Totals();
+    totals.estimatedBytes = PAGE_BYTES
+        + estimateBytes(page.getTitle())
+        + estimateBytes(page.getDescription())
+        + estimateBytes(page.getKeywords())
+        + (long) referenceCount * REFERENCE_BYTES;
+    totals.add(page);
+    List<Element> elements = page.getElements();
+    Map<String, Integer> elementCounts = new TreeMap<>();
+    for (Element element : elements) {
+      elementCounts.merge(element.getClass().getName(), 1, Integer::sum);
+      totals.estimatedBytes += ELEMENT_BYTES + estimateBytes(element.getIdNoGen());
+      totals.add(element);
+    }
+    return new PageStatistics(
+        Collections.unmodifiableMap(elementCounts),
+        elements.size(),
+        totals.bodyChars,
+        totals.elementWriterCount,
+        totals.propertyCount,
+        totals.pageLinkCount,
+        referenceCount,
+        totals.estimatedBytes
+    );
+  }
+
+  private static long estimateBytes(String value) {
+    return value == null ? 0 : STRING_BYTES + (long) value.length() * Character.BYTES;
+  }
+
+  private final Map<String, Integer> elementCounts;
+  private final int elementCount;
+  private final long bodyChars;
+  private final int elementWriterCount;
+  private final int propertyCount;
+  private final int pageLinkCount;
+  private final int referenceCount;
+  private final long estimatedBytes;
+
+  private PageStatistics(
+      Map<String, Integer> elementCounts,
+      int elementCount,
+      long bodyChars,
+      int elementWriterCount,
+      int propertyCount,
+      int pageLinkCount,
+      int referenceCount,
+      long estimatedBytes
+  ) {
+    this.elementCounts = elementCounts;
+    this.elementCount = elementCount;
+    this.bodyChars = bodyChars;
+    this.elementWriterCount = elementWriterCount;
+    this.propertyCount = propertyCount;
+    this.pageLinkCount = pageLinkCount;
+    this.referenceCount = referenceCount;
+    this.estimatedBytes = estimatedBytes;
+  }
+
+  /**
+   * Gets the number of elements of each type, by class name.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, Integer> getElementCounts() {
+    return elementCounts;
+  }
+
+  /**
+   * Gets the total number of elements, at all levels.
+   */
+  public int getElementCount() {
+    return elementCount;
+  }
+
+  /**
+   * Gets the total number of body characters of the page and all its elements.
+   */
+  public long getBodyChars() {
+    return bodyChars;
+  }
+
+  /**
+   * Gets the total number of element writers of the page and all its elements.
+   */
+  public int getElementWriterCount() {
+    return elementWriterCount;
+  }
+
+  /**
+   * Gets the total number of properties of the page and all its elements.
+   */
+  public int getPropertyCount() {
+    return propertyCount;
+  }
+
+  /**
+   * Gets the total number of {@linkplain Node#getPageLinks() page links} of the page and all its elements.
+   */
+  public int getPageLinkCount() {
+    return pageLinkCount;
+  }
+
+  /**
+   * Gets the number of parent references, child references, and authors of the page.
+   */
+  public int getReferenceCount() {
+    return referenceCount;
+  }
+
+  /**
+   * Gets a rough estimate of the memory retained by the page model, in bytes.
+   * This is intended for relative comparisons and cache sizing, not exact accounting.
+   */
+  public long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "PageStatistics(elements=" + elementCount
+        + ", bodyChars=" + bodyChars
+        + ", elementWriters=" + elementWriterCount
+        + ", properties=" + propertyCount
+        + ", pageLinks=" + pageLinkCount
+        + ", references=" + referenceCount
+        + ", estimatedBytes=" + estimatedBytes + ')';
+  }
+}
@@ -0,0 +1,344 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the consistency of the parent and child references of all the pages of one or more books at once,
+ * in parallel.  Every problem is reported, instead of stopping at the first.
+ *
+ * <p>References to pages in books not being verified are not checked.</p>
+ */
+public final class PageVerifier {
+
+  /** Make no instances. */
+  private PageVerifier() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The number of pages checked by each task, and between progress reports.
+   */
+  private static final int BATCH_SIZE = 256;
+
+  /**
+   * The types of problems found.
+   */
+  public enum ProblemType {
+    /**
+     * A parent page is not in the verified pages.
+     */
+    MISSING_PARENT,
+
+    /**
+     * A child page is not in the verified pages.
+     */
+    MISSING_CHILD,
+
+    /**
+     * A parent page does not list the page as a child, and the page does not
+     * {@linkplain Page#getAllowParentMismatch() allow parent mismatch}.
+     */
+    PARENT_MISMATCH,
+
+    /**
+     * A child page does not list the page as a parent, and the page does not
+     * {@linkplain Page#getAllowChildMismatch() allow child mismatch}.
+     */
+    CHILD_MISMATCH,
+
+    /**
+     * The page is its own ancestor.
+     */
+    CYCLE
+  }
+
+  /**
+   * A problem found with the references of a page.
+   */
+  public static final class Problem implements Comparable<Problem> {
+
+    private final ProblemType type;
+    private final PageRef pageRef;
+    private final PageRef target;
+    private final List<PageRef> cycle;
+
+    private Problem(ProblemType type, PageRef pageRef, PageRef target, List<PageRef> cycle) {
+      this.type = type;
+      this.pageRef = pageRef;
+      this.target = target;
+      this.cycle = cycle;
+    }
+
+    public ProblemType getType() {
+      return type;
+    }
+
+    /**
+     * Gets the page with the problem.  For a cycle, this is the first page of the cycle.
+     */
+    public PageRef getPageRef() {
+      return pageRef;
+    }
+
+    /**
+     * Gets the referenced page, or {@code null} for a cycle.
+     */
+    public PageRef getTarget() {
+      return target;
+    }
+
+    /**
+     * Gets all the pages in a cycle, in {@link PageRef} order, or an empty list for other types.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public List<PageRef> getCycle() {
+      return cycle;
+    }
+
+    @Override
+    public String toString() {
+      switch (type) {
+        case MISSING_PARENT:
+          return "Parent page not found: " + pageRef + " -> " + target;
+        case MISSING_CHILD:
+          return "Child page not found: " + pageRef + " -> " + target;
+        case PARENT_MISMATCH:
+          return "Parent page does not list page as a child: " + pageRef + " -> " + target;
+        case CHILD_MISMATCH:
+          return "Child page does not list page as a parent: " + pageRef + " -> " + target;
+        case CYCLE:
+          return "Pages are their own ancestors: " + cycle;
+        default:
+          throw new AssertionError();
+      }
+    }
+
+    /**
+     * Orders by page, type, then target.
+     */
+    @Override
+    public int compareTo(Problem o) {
+      int diff = pageRef.compareTo(o.pageRef);
+      if (diff != 0) {
+        return diff;
+      }
+      diff = type.compareTo(o.type);
+      if (diff != 0) {
+        return diff;
+      }
+      if (target == null) {
+        return o.target == null ? 0 : -1;
+      }
+      return o.target == null ? 1 : target.compareTo(o.target);
+    }
+  }
+
+  /**
+   * Receives progress while verifying.  May be called concurrently from multiple threads.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+
+    /**
+     * Called as pages are checked.
+     *
+     * @param  completed  the number of pages checked so far
+     * @param  total      the total number of pages
+     */
+    void progress(int completed, int total);
+  }
+
+  /**
+   * Verifies the pages in the {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @see  #verify(java.lang.Iterable, java.lang.Iterable, java.util.concurrent.ForkJoinPool, com.semanticcms.core.model.PageVerifier.ProgressListener)
+   */
+  public static List<Problem> verify(
+      Iterable<? extends Book> books,
+      Iterable<? extends Page> pages,
+      ProgressListener listener
+  ) {
+    return verify(books, pages, ForkJoinPool.commonPool(), listener);
+  }
+
+  /**
+   * Verifies the pages of the given books.
+   *
+   * @param  books     the books being verified, references to pages in other books are not checked
+   * @param  pages     all the frozen pages of the books
+   * @param  listener  the optional listener for progress
+   *
+   * @return  the problems found, sorted by page, or an empty list when all references are consistent
+   *
+   * @throws  IllegalArgumentException  if any page is not frozen or more than one page has the same {@link PageRef}
+   */
+  public static List<Problem> verify(
+      Iterable<? extends Book> books,
+      Iterable<? extends Page> pages,
+      ForkJoinPool pool,
+      ProgressListener listener
+  ) throws IllegalArgumentException {
+    Set<String> bookNames = new HashSet<>();
+    for (Book book : books) {
+      bookNames.add(book.getName());
+    }
+    PageGraph graph = new PageGraph(pages);
+    int size = graph.size();
+    ConcurrentLinkedQueue<Problem> problems = new ConcurrentLinkedQueue<>();
+    pool.invoke(new RecursiveAction() {
+      @Override
+      protected void compute() {
+        invokeAll(
+            new CheckTask(graph, 0, size, bookNames, problems, new AtomicInteger(), listener),
+            new CycleTask(graph, problems)
+        );
+      }
+    });
+    List<Problem> sorted = new ArrayList<>(problems);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  private static class CheckTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PageGraph graph;
+    private final int from;
+    private final int to;
+    private final transient Set<String> bookNames;
+    private final transient ConcurrentLinkedQueue<Problem> problems;
+    private final AtomicInteger completed;
+    private final transient ProgressListener listener;
+
+    private CheckTask(
+        PageGraph graph,
+        int from,
+        int to,
+        Set<String> bookNames,
+        ConcurrentLinkedQueue<Problem> problems,
+        AtomicInteger completed,
+        ProgressListener listener
+    ) {
+      this.graph = graph;
+      this.from = from;
+      this.to = to;
+      this.bookNames = bookNames;
+      this.problems = problems;
+      this.completed = completed;
+      this.listener = listener;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > BATCH_SIZE) {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new CheckTask(graph, from, mid, bookNames, problems, completed, listener),
+            new CheckTask(graph, mid, to, bookNames, problems, completed, listener)
+        );
+      } else {
+        for (int id = from; id < to; id++) {
+          check(graph.getPage(id));
+        }
+        int total = completed.addAndGet(to - from);
+        if (listener != null) {
+          listener.progress(total, graph.size());
+        }
+      }
+    }
+
+    private void check(Page page) {
+      PageRef pageRef = page.getPageRef();
+      ChildRef asChild = null;
+      for (ParentRef parentRef : page.getParentRefs()) {
+        PageRef parentPageRef = parentRef.getPageRef();
+        if (bookNames.contains(parentPageRef.getBookName())) {
+          int parent = graph.getId(parentPageRef);
+          if (parent == -1) {
+            problems.add(new Problem(ProblemType.MISSING_PARENT, pageRef, parentPageRef, Collections.emptyList()));
+          } else if (!page.getAllowParentMismatch()) {
+            if (asChild == null) {
+              asChild = new ChildRef(pageRef);
+            }
+            if (!graph.getPage(parent).getChildRefs().contains(asChild)) {
+              problems.add(new Problem(ProblemType.PARENT_MISMATCH, pageRef, parentPageRef, Collections.emptyList()));
+            }
+          }
+        }
+      }
+      ParentRef asParent = null;
+      for (ChildRef childRef : page.getChildRefs()) {
+        PageRef childPageRef = childRef.getPageRef();
+        if (bookNames.contains(childPageRef.getBookName())) {
+          int child = graph.getId(childPageRef);
+          if (child == -1) {
+            problems.add(new Problem(ProblemType.MISSING_CHILD, pageRef, childPageRef, Collections.emptyList()));
+          } else if (!page.getAllowChildMismatch()) {
+            if (asParent == null) {
+              asParent = new ParentRef(pageRef, null);
+            }
+            if (!graph.getPage(child).getParentRefs().contains(asParent)) {
+              problems.add(new Problem(ProblemType.CHILD_MISMATCH, pageRef, childPageRef, Collections.emptyList()));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static class CycleTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PageGraph graph;
+    private final transient ConcurrentLinkedQueue<Problem> problems;
+
+    private CycleTask(PageGraph graph, ConcurrentLinkedQueue<Problem> problems) {
+      this.graph = graph;
+      this.problems = problems;
+    }
+
+    @Override
+    protected void compute() {
+      for (int[] ids : graph.getCycles()) {
+        List<PageRef> cycle = new ArrayList<>(ids.length);
+        for (int id : ids) {
+          cycle.add(graph.getPage(id).getPageRef());
+        }
+        problems.add(new Problem(ProblemType.CYCLE, cycle.get(0), null, Collections.unmodifiableList(cycle)));
+      }
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * semanticcms-core-model - Java API for modeling web page content and relationships.
- * Copyright (C) 2016, 2021, 2022, 2023  AO Industries, Inc.
+ * Copyright (C) 2016, 2021, 2022, 2023, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -36,8 +36,8 @@ public class ParentRef implements PageReferrer {
   private final String shortTitle;
 
   public ParentRef(PageRef pageRef, String shortTitle) {
-    this.pageRef = NullArgumentException.checkNotNull(pageRef, "pageRef");
-    this.shortTitle = shortTitle;
+    this.pageRef = NullArgumentException.checkNotNull(pageRef, "pageRef").intern();
+    this.shortTitle = StringPool.intern(shortTitle);
   }
 
   /**
@@ -0,0 +1,402 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the resource files of the pages of a {@link Book}, shared by all {@link PageRef} of the book.
+ * The canonical path of the cvswork directory is computed once.
+ *
+ * <p>Resources that exist are cached once resolved and checked to be within the cvswork directory, and are
+ * invalidated by a {@link WatchService} on the directories containing them and all their ancestors within the
+ * cvswork directory, so renaming or deleting any ancestor is also seen.  Directories are registered lazily, as
+ * their resources are first looked-up, and are registered again after being replaced.  Resources that do not exist are never cached, since their
+ * paths may come directly from requests, and at most {@link #MAX_CACHED} resources are cached.  When the file
+ * system does not support watching, resources are resolved on every call.</p>
+ *
+ * <p>Large resources read through {@link #readResource(java.lang.String)} are memory-mapped on each call.
+ * Mappings are not cached, since a mapping may not safely outlive changes to the mutable source files.</p>
+ *
+ * @see  PageRef#getResourceFile(boolean, boolean)
+ */
+final class ResourceResolver {
+
+  private static final Logger logger = Logger.getLogger(ResourceResolver.class.getName());
+
+  private static final Cleaner cleaner = Cleaner.create();
+
+  private final File cvsworkDirectory;
+
+  private volatile String cvsworkCanonical;
+  private volatile String cvsworkCanonicalPrefix;
+
+  /**
+   * The maximum number of resources cached.  Resources beyond this are resolved on every call.
+   */
+  static final int MAX_CACHED = 10000;
+
+  /**
+   * The resolved files that existed when resolved, in watched directories, by sub-path within the cvswork
+   * directory.
+   */
+  private final Map<String, File> resourceFiles = new ConcurrentHashMap<>();
+
+  /**
+   * Files of at least this size are memory-mapped, while smaller files are read onto the heap.
+   */
+  private static final long MAP_THRESHOLD = 64L * 1024;
+
+  /**
+   * The watched directories, by sub-path within the cvswork directory.
+   */
+  private final Map<String, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+
+  /**
+   * The sub-path of each watched directory, by watch key.
+   */
+  private final Map<WatchKey, String> watchKeyDirectories = new ConcurrentHashMap<>();
+
+  private final Object watchLock = new Object();
+
+  /**
+   * The watch service, created on first use.  Is {@code null} before first use or when unsupported.
+   */
+  private WatchService watchService;
+
+  /**
+   * {@code true} once the watch service has been attempted.
+   */
+  private boolean watchServiceCreated;
+
+  /**
+   * Incremented on every change notification.  A resource is only cached when this is unchanged
+   * from before it was resolved, so a concurrent change is never lost.
+   */
+  private volatile long version;
+
+  ResourceResolver(File cvsworkDirectory) {
+    this.cvsworkDirectory = cvsworkDirectory;
+  }
+
+  private String getCvsworkCanonicalPrefix() throws IOException {
+    String prefix = cvsworkCanonicalPrefix;
+    if (prefix == null) {
+      String canonical = cvsworkDirectory.getCanonicalPath();
+      cvsworkCanonical = canonical;
+      prefix = canonical + File.separatorChar;
+      cvsworkCanonicalPrefix = prefix;
+    }
+    return prefix;
+  }
+
+  /**
+   * Gets the sub-path within the cvswork directory, without any leading or trailing slashes.
+   */
+  private static String getSubPath(String path) {
+    // Skip past first slash
+    assert path.charAt(0) == '/';
+    int start = 1;
+    // Skip past any trailing slashes
+    int end = path.length();
+    while (end > start && path.charAt(end - 1) == '/') {
+      end--;
+    }
+    return path.substring(start, end);
+  }
+
+  /**
+   * Gets the resource file for the given book-relative path.
+   *
+   * @param requireFile when true, the file returned will exist on the filesystem
+   *
+   * @throws  SecurityException  when the path resolves outside the cvswork directory
+   * @throws  FileNotFoundException  when {@code requireFile} and the file does not exist
+   */
+  File getResourceFile(String path, boolean requireFile) throws IOException, SecurityException {
+    String subPath = getSubPath(path);
+    File rf = resourceFiles.get(subPath);
+    if (rf != null) {
+      // Cached resources exist
+      return rf;
+    }
+    long v = version;
+    boolean watched = !subPath.isEmpty() && watchDirectory(getParentSubPath(subPath));
+    // Combine paths
+    rf = subPath.isEmpty() ? cvsworkDirectory : new File(cvsworkDirectory, subPath);
+    // The canonical file must be in the cvswork directory
+    String prefix = getCvsworkCanonicalPrefix();
+    String canonicalPath = rf.getCanonicalPath();
+    if (
+        !canonicalPath.equals(cvsworkCanonical)
+            && !canonicalPath.startsWith(prefix)
+    ) {
+      throw new SecurityException('"' + canonicalPath + "\" is not in \"" + prefix);
+    }
+    if (rf.exists()) {
+      if (watched && resourceFiles.size() < MAX_CACHED) {
+        synchronized (watchLock) {
+          if (v == version) {
+            resourceFiles.put(subPath, rf);
+          }
+        }
+      }
+    } else if (requireFile) {
+      throw new FileNotFoundException(rf.getPath());
+    }
+    return rf;
+  }
+
+  /**
+   * Reads the resource file for the given book-relative path.
+   * A large file is memory-mapped, with a new mapping on each call.
+   *
+   * <p>The mapping of a large file reflects the file as it changes.  When the file is truncated or rewritten
+   * in place while the buffer is in use, such as by an editor or version control, accessing the buffer past
+   * the new end of the file may fail with an {@link InternalError} (or {@code SIGBUS} in native code).
+   * Callers should parse the buffer promptly and not retain it.</p>
+   *
+   * @return  a read-only buffer of the file contents, positioned at zero
+   *
+   * @throws  SecurityException  when the path resolves outside the cvswork directory
+   * @throws  FileNotFoundException  when the file does not exist
+   */
+  ByteBuffer readResource(String path) throws IOException, SecurityException {
+    Path resourcePath = getResourceFile(path, false).toPath();
+    try (FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < MAP_THRESHOLD) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+          // Read until full or end of file
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    } catch (NoSuchFileException e) {
+      FileNotFoundException fnf = new FileNotFoundException(resourcePath.toString());
+      fnf.initCause(e);
+      throw fnf;
+    }
+  }
+
+  private static String getParentSubPath(String subPath) {
+    int slashPos = subPath.lastIndexOf('/');
+    return slashPos == -1 ? "" : subPath.substring(0, slashPos);
+  }
+
+  /**
+   * Watches the given directory, if not already watched.
+   *
+   * @return  {@code true} when the directory is being watched
+   */
+  private boolean watchDirectory(String dirSubPath) {
+    WatchKey key = watchedDirectories.get(dirSubPath);
+    if (key != null) {
+      return true;
+    }
+    synchronized (watchLock) {
+      key = watchedDirectories.get(dirSubPath);
+      if (key != null) {
+        return true;
+      }
+      WatchService ws = getWatchService();
+      if (ws == null) {
+        return false;
+      }
+      // Watch the ancestors first, since the directory itself does not report being moved or deleted
+      if (!dirSubPath.isEmpty() && !watchDirectory(getParentSubPath(dirSubPath))) {
+        return false;
+      }
+      Path dir = (dirSubPath.isEmpty() ? cvsworkDirectory : new File(cvsworkDirectory, dirSubPath)).toPath();
+      try {
+        key = dir.register(
+            ws,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY
+        );
+      } catch (NoSuchFileException e) {
+        // Directory does not exist, nothing to watch
+        return false;
+      } catch (IOException | ClosedWatchServiceException e) {
+        logger.log(Level.FINE, "Unable to watch directory: " + dir, e);
+        return false;
+      }
+      watchKeyDirectories.put(key, dirSubPath);
+      watchedDirectories.put(dirSubPath, key);
+      return true;
+    }
+  }
+
+  private WatchService getWatchService() {
+    assert Thread.holdsLock(watchLock);
+    if (!watchServiceCreated) {
+      watchServiceCreated = true;
+      WatchService ws;
+      try {
+        ws = cvsworkDirectory.toPath().getFileSystem().newWatchService();
+      } catch (IOException | UnsupportedOperationException e) {
+        logger.log(Level.FINE, "Unable to watch cvswork directory: " + cvsworkDirectory, e);
+        return null;
+      }
+      watchService = ws;
+      Thread thread = new Thread(new Watcher(this, ws), ResourceResolver.class.getName() + ": " + cvsworkDirectory);
+      thread.setDaemon(true);
+      thread.start();
+      // The watcher thread ends once the watch service is closed
+      cleaner.register(this, () -> {
+        try {
+          ws.close();
+        } catch (IOException e) {
+          logger.log(Level.WARNING, null, e);
+        }
+      });
+    }
+    return watchService;
+  }
+
+  /**
+   * Takes the events from the watch service.  Only holds a weak reference to the resolver, so the resolver,
+   * and its book, may be garbage collected while being watched.
+   */
+  private static class Watcher implements Runnable {
+
+    private final WeakReference<ResourceResolver> resolverRef;
+    private final WatchService watchService;
+
+    private Watcher(ResourceResolver resolver, WatchService watchService) {
+      this.resolverRef = new WeakReference<>(resolver);
+      this.watchService = watchService;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          WatchKey key = watchService.take();
+          ResourceResolver resolver = resolverRef.get();
+          if (resolver == null) {
+            break;
+          }
+          resolver.changed(key);
+        }
+      } catch (ClosedWatchServiceException e) {
+        // Resolver garbage collected
+      } catch (InterruptedException e) {
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void changed(WatchKey key) {
+    synchronized (watchLock) {
+      version++;
+      String dirSubPath = watchKeyDirectories.get(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        Object context = event.context();
+        WatchEvent.Kind<?> kind = event.kind();
+        if (dirSubPath == null || kind == StandardWatchEventKinds.OVERFLOW || !(context instanceof Path)) {
+          unwatch("");
+          invalidate("");
+        } else {
+          String name = context.toString();
+          String childSubPath = dirSubPath.isEmpty() ? name : (dirSubPath + '/' + name);
+          if (kind != StandardWatchEventKinds.ENTRY_MODIFY) {
+            // A directory moved or deleted keeps its watch on the moved directory, so is watched again when used
+            unwatch(childSubPath);
+          }
+          invalidate(childSubPath);
+        }
+      }
+      if (!key.reset()) {
+        // Directory no longer accessible
+        watchKeyDirectories.remove(key);
+        if (dirSubPath != null) {
+          watchedDirectories.remove(dirSubPath, key);
+          invalidate(dirSubPath);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops watching a directory and everything within it, or all directories for the root.
+   */
+  private void unwatch(String subPath) {
+    assert Thread.holdsLock(watchLock);
+    String prefix = subPath + '/';
+    Iterator<Map.Entry<String, WatchKey>> iter = watchedDirectories.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<String, WatchKey> entry = iter.next();
+      String dirSubPath = entry.getKey();
+      if (
+          subPath.isEmpty()
+              || dirSubPath.equals(subPath)
+              || dirSubPath.startsWith(prefix)
+      ) {
+        WatchKey key = entry.getValue();
+        iter.remove();
+        watchKeyDirectories.remove(key);
+        key.cancel();
+      }
+    }
+  }
+
+  /**
+   * Invalidates a sub-path and everything within it.
+   */
+  private void invalidate(String subPath) {
+    assert Thread.holdsLock(watchLock);
+    if (subPath.isEmpty()) {
+      resourceFiles.clear();
+      return;
+    }
+    // The resolved file may change through symbolic links
+    resourceFiles.remove(subPath);
+    String prefix = subPath + '/';
+    resourceFiles.keySet().removeIf(key -> key.startsWith(prefix));
+  }
+}
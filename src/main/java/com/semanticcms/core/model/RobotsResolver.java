@@ -0,0 +1,117 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Resolves and memoizes the effective {@linkplain Page#getAllowRobots() allowRobots} setting of pages.
+ * When a page does not set it, robots are allowed when allowed by any of its parents in the same book,
+ * or by the {@linkplain Book#getAllowRobots() book} when the page has no parents in the same book.
+ *
+ * <p>When a page is replaced, it must be {@linkplain #invalidate(com.semanticcms.core.model.PageRef) invalidated},
+ * which also invalidates every page that inherited from it.  When added as a {@link BookRegistry.Listener}, all
+ * pages of a book are invalidated when the book is reloaded.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class RobotsResolver implements BookRegistry.Listener {
+
+  private final InheritanceResolver<Boolean> resolver;
+
+  /**
+   * @param  pages  finds the current version of pages, returning {@code null} when not found
+   * @param  books  finds the current version of books by name, such as {@link BookRegistry#getBook(java.lang.String)},
+   *                returning {@code null} when not found.  When {@code null}, uses the book of each page's
+   *                {@link PageRef}.
+   */
+  public RobotsResolver(Function<? super PageRef, ? extends Page> pages, Function<? super String, ? extends Book> books) {
+    resolver = new InheritanceResolver<Boolean>(pages) {
+      @Override
+      Boolean compute(Page page, List<Boolean> parentValues) {
+        Boolean allowRobots = page.getAllowRobots();
+        if (allowRobots != null) {
+          return allowRobots;
+        }
+        if (parentValues.isEmpty()) {
+          PageRef pageRef = page.getPageRef();
+          Book book = books == null ? pageRef.getBook() : books.apply(pageRef.getBookName());
+          if (book == null) {
+            throw new IllegalStateException("Book not found: " + pageRef.getBookName());
+          }
+          return book.getAllowRobots();
+        }
+        return parentValues.contains(Boolean.TRUE);
+      }
+    };
+  }
+
+  /**
+   * Inherits from the book of each page's {@link PageRef}.
+   *
+   * @param  pages  finds the current version of pages, returning {@code null} when not found
+   */
+  public RobotsResolver(Function<? super PageRef, ? extends Page> pages) {
+    this(pages, null);
+  }
+
+  /**
+   * Gets the effective allowRobots setting of a page.
+   *
+   * @throws  IllegalStateException  when inherited from a book that is not available
+   */
+  public boolean getAllowRobots(Page page) throws IllegalStateException {
+    return resolver.resolve(page);
+  }
+
+  /**
+   * Invalidates a page, such as when it is replaced, along with every page that inherited from it.
+   */
+  public void invalidate(PageRef pageRef) {
+    resolver.invalidate(pageRef);
+  }
+
+  /**
+   * Invalidates all pages of a book, such as when the book is reloaded.
+   */
+  public void invalidateBook(String bookName) {
+    resolver.invalidateBook(bookName);
+  }
+
+  /**
+   * Invalidates all pages.
+   */
+  public void invalidateAll() {
+    resolver.invalidateAll();
+  }
+
+  /**
+   * Invalidates all pages of a book when it is added, reloaded, or removed.
+   */
+  @Override
+  public void bookChanged(String name, Book oldBook, Book newBook) {
+    invalidateBook(name);
+  }
+}
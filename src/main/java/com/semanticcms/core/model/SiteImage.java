@@ -0,0 +1,325 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A prebuilt, read-only image of any number of frozen pages, typically all the pages of one or more
+ * {@link Book books}, that is memory-mapped and read on demand.  Opening an image only reads its
+ * fixed-size trailer; page lookups are a binary search directly over the mapped index, and each page is
+ * only decoded, by {@link PageCodec}, the first time it is requested.
+ *
+ * <p>The image is laid out as:</p>
+ * <ol>
+ *   <li>Header: magic (int), version (short), reserved (short)</li>
+ *   <li>Page records, each in the format of {@link PageCodec#writePage(com.semanticcms.core.model.Page, java.io.DataOutput)}</li>
+ *   <li>Keys: the UTF-8 encoded {@linkplain PageRef#getServletPath() servlet path} of each page</li>
+ *   <li>Index: for each page, sorted by key bytes: key offset, key length, page offset, page length (all int)</li>
+ *   <li>Trailer: page count (int), index offset (int), magic (int)</li>
+ * </ol>
+ *
+ * <p>Images are limited to {@link Integer#MAX_VALUE} bytes.</p>
+ *
+ * <p>This class is thread-safe.</p>
+ */
+public class SiteImage {
+
+  /**
+   * The first and last four bytes of every image, "SCSI".
+   */
+  private static final int MAGIC = 0x53435349;
+
+  /**
+   * The current version of the format, incremented on any incompatible change.
+   */
+  private static final short VERSION = 1;
+
+  private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES * 2;
+  private static final int INDEX_ENTRY_SIZE = Integer.BYTES * 4;
+  private static final int TRAILER_SIZE = Integer.BYTES * 3;
+
+  /**
+   * Writes an image of the given pages.  The image is written to a temporary file then atomically
+   * moved into place, so any image already open continues to read the previous file.
+   *
+   * @param  pages  the frozen pages, each with a unique {@link PageRef}
+   *
+   * @throws  IllegalArgumentException  if more than one page has the same {@link PageRef}
+   */
+  public static void write(Path file, Iterable<? extends Page> pages, PageCodec codec) throws IOException {
+    // Sort by key bytes, which is the order searched by getPage
+    List<Entry> entries = new ArrayList<>();
+    for (Page page : pages) {
+      entries.add(new Entry(page));
+    }
+    entries.sort((e1, e2) -> Arrays.compareUnsigned(e1.key, e2.key));
+    for (int i = 1, size = entries.size(); i < size; i++) {
+      if (Arrays.equals(entries.get(i - 1).key, entries.get(i).key)) {
+        throw new IllegalArgumentException("Duplicate page: " + entries.get(i).page.getPageRef());
+      }
+    }
+    Path parent = file.toAbsolutePath().getParent();
+    Path tempPath = Files.createTempFile(parent, null, ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+        // Page records
+        ByteArrayOutputStream pageBytes = new ByteArrayOutputStream();
+        DataOutputStream pageOut = new DataOutputStream(pageBytes);
+        for (Entry entry : entries) {
+          pageBytes.reset();
+          codec.writePage(entry.page, pageOut);
+          pageOut.flush();
+          entry.pageOffset = checkOffset(out.size());
+          entry.pageLength = pageBytes.size();
+          pageBytes.writeTo(out);
+        }
+        // Keys
+        for (Entry entry : entries) {
+          entry.keyOffset = checkOffset(out.size());
+          out.write(entry.key);
+        }
+        // Index
+        int indexOffset = checkOffset(out.size());
+        for (Entry entry : entries) {
+          out.writeInt(entry.keyOffset);
+          out.writeInt(entry.key.length);
+          out.writeInt(entry.pageOffset);
+          out.writeInt(entry.pageLength);
+        }
+        // Trailer
+        out.writeInt(entries.size());
+        out.writeInt(indexOffset);
+        out.writeInt(MAGIC);
+        checkOffset(out.size());
+      }
+      try {
+        Files.move(tempPath, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempPath);
+    }
+  }
+
+  /**
+   * Checks that an offset is still within the size limit of an image.
+   * {@link DataOutputStream#size()} stops counting at {@link Integer#MAX_VALUE}.
+   */
+  private static int checkOffset(int offset) throws IOException {
+    if (offset == Integer.MAX_VALUE) {
+      throw new IOException("Image too large");
+    }
+    return offset;
+  }
+
+  private static class Entry {
+
+    private final Page page;
+    private final byte[] key;
+    private int keyOffset;
+    private int pageOffset;
+    private int pageLength;
+
+    private Entry(Page page) {
+      this.page = page;
+      this.key = page.getPageRef().getServletPath().getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Opens an image, mapping the entire file into memory.
+   *
+   * @param  books  resolves book names for pages read from the image,
+   *                see {@link PageCodec#readPage(java.io.DataInput, java.util.function.Function)}
+   *
+   * @throws  StreamCorruptedException  if the file is not an image or is an unsupported version of the format
+   */
+  public static SiteImage open(Path file, PageCodec codec, Function<? super String, ? extends Book> books) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new StreamCorruptedException("Image too large: " + size);
+      }
+      if (size < HEADER_SIZE + TRAILER_SIZE) {
+        throw new StreamCorruptedException("Not an image: " + file);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    return new SiteImage(buffer, codec, books);
+  }
+
+  private final ByteBuffer buffer;
+  private final PageCodec codec;
+  private final Function<? super String, ? extends Book> books;
+  private final int size;
+  private final int indexOffset;
+  private final AtomicReferenceArray<Page> pages;
+
+  private SiteImage(ByteBuffer buffer, PageCodec codec, Function<? super String, ? extends Book> books) throws StreamCorruptedException {
+    this.buffer = buffer;
+    this.codec = NullArgumentException.checkNotNull(codec, "codec");
+    this.books = NullArgumentException.checkNotNull(books, "books");
+    int limit = buffer.limit();
+    if (
+        buffer.getInt(0) != MAGIC
+            || buffer.getInt(limit - Integer.BYTES) != MAGIC
+    ) {
+      throw new StreamCorruptedException("Not an image");
+    }
+    short version = buffer.getShort(Integer.BYTES);
+    if (version != VERSION) {
+      throw new StreamCorruptedException("Unsupported version: " + version);
+    }
+    this.size = buffer.getInt(limit - TRAILER_SIZE);
+    this.indexOffset = buffer.getInt(limit - TRAILER_SIZE + Integer.BYTES);
+    if (
+        size < 0
+            || indexOffset < HEADER_SIZE
+            || (long) indexOffset + (long) size * INDEX_ENTRY_SIZE != limit - TRAILER_SIZE
+    ) {
+      throw new StreamCorruptedException("Corrupt index");
+    }
+    this.pages = new AtomicReferenceArray<>(size);
+  }
+
+  /**
+   * Gets the number of pages in the image.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the servlet path of the page at the given index, without decoding the page.
+   * Pages are ordered by the UTF-8 bytes of their servlet path.
+   */
+  public String getServletPath(int index) {
+    int entry = getIndexEntry(index);
+    byte[] key = new byte[buffer.getInt(entry + Integer.BYTES)];
+    buffer.duplicate().position(buffer.getInt(entry)).get(key);
+    return new String(key, StandardCharsets.UTF_8);
+  }
+
+  private int getIndexEntry(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(Integer.toString(index));
+    }
+    return indexOffset + index * INDEX_ENTRY_SIZE;
+  }
+
+  /**
+   * Finds the index of the page with the given servlet path.
+   *
+   * @return  the index or {@code -1} when not in the image
+   */
+  public int indexOf(PageRef pageRef) {
+    byte[] key = pageRef.getServletPath().getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+      int diff = compareKey(buffer.getInt(entry), buffer.getInt(entry + Integer.BYTES), key);
+      if (diff < 0) {
+        low = mid + 1;
+      } else if (diff > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compares a key in the image to the given key, as unsigned bytes.
+   */
+  private int compareKey(int keyOffset, int keyLength, byte[] key) {
+    int len = Math.min(keyLength, key.length);
+    for (int i = 0; i < len; i++) {
+      int diff = Byte.toUnsignedInt(buffer.get(keyOffset + i)) - Byte.toUnsignedInt(key[i]);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return keyLength - key.length;
+  }
+
+  /**
+   * Gets the page at the given index, decoding it on first access.
+   */
+  public Page getPage(int index) throws IOException {
+    Page page = pages.get(index);
+    if (page == null) {
+      int entry = getIndexEntry(index);
+      int pageOffset = buffer.getInt(entry + Integer.BYTES * 2);
+      int pageLength = buffer.getInt(entry + Integer.BYTES * 3);
+      ByteBuffer record = buffer.duplicate();
+      record.position(pageOffset).limit(pageOffset + pageLength);
+      try (DataInputStream in = new DataInputStream(new ByteBufferInputStream(record))) {
+        page = codec.readPage(in, books);
+      }
+      // Keep the first page decoded when decoded concurrently
+      if (!pages.compareAndSet(index, null, page)) {
+        page = pages.get(index);
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Gets the page for the given reference, decoding it on first access.
+   *
+   * @return  the page or {@code null} when not in the image
+   */
+  public Page getPage(PageRef pageRef) throws IOException {
+    int index = indexOf(pageRef);
+    return index == -1 ? null : getPage(index);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Writes a <a href="https://www.sitemaps.org/protocol.html">sitemap</a> one page at a time, in constant
+ * memory, so that any number of pages may be streamed from their source.  Only pages that
+ * {@linkplain RobotsResolver#getAllowRobots(com.semanticcms.core.model.Page) allow robots} and are in a book
+ * with a {@linkplain Book#getCanonicalBase() canonical base} are written.
+ *
+ * <p>The sitemap protocol limits each sitemap to {@link #MAX_URLS} URLs.  Callers writing more pages should
+ * start a new sitemap when {@link #getUrlCount()} reaches the limit.</p>
+ */
+public class SitemapWriter implements Closeable {
+
+  /**
+   * The maximum number of URLs in a single sitemap.
+   */
+  public static final int MAX_URLS = 50000;
+
+  private final Appendable out;
+  private final RobotsResolver robots;
+  private final Function<? super String, ? extends Book> books;
+  private final StringBuilder servletPath = new StringBuilder();
+  private final StringBuilder encoded = new StringBuilder();
+  private int urlCount;
+  private boolean closed;
+
+  /**
+   * Starts a new sitemap, writing the XML declaration and opening {@code <urlset>}.
+   *
+   * @param  books  finds the current version of books by name, such as {@link BookRegistry#getBook(java.lang.String)},
+   *                returning {@code null} when not found, so a reloaded book's canonical base is used.
+   *                When {@code null}, uses the book of each page's {@link PageRef}.
+   */
+  public SitemapWriter(Appendable out, RobotsResolver robots, Function<? super String, ? extends Book> books) throws IOException {
+    this.out = NullArgumentException.checkNotNull(out, "out");
+    this.robots = NullArgumentException.checkNotNull(robots, "robots");
+    this.books = books;
+    out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+  }
+
+  /**
+   * Starts a new sitemap, using the book of each page's {@link PageRef}.
+   */
+  public SitemapWriter(Appendable out, RobotsResolver robots) throws IOException {
+    this(out, robots, null);
+  }
+
+  /**
+   * Writes a page, when it allows robots and its book has a canonical base.
+   *
+   * @return  {@code true} when the page was written
+   *
+   * @throws  IllegalStateException  when already closed or already containing {@link #MAX_URLS} URLs
+   */
+  public boolean write(Page page) throws IOException, IllegalStateException {
+    if (closed) {
+      throw new IllegalStateException("Sitemap closed");
+    }
+    PageRef pageRef = page.getPageRef();
+    Book book = books == null ? pageRef.getBook() : books.apply(pageRef.getBookName());
+    String canonicalBase = book == null ? null : book.getCanonicalBase();
+    if (canonicalBase == null || !robots.getAllowRobots(page)) {
+      return false;
+    }
+    if (urlCount >= MAX_URLS) {
+      throw new IllegalStateException("Sitemap full: " + MAX_URLS);
+    }
+    servletPath.setLength(0);
+    pageRef.appendServletPath(servletPath);
+    encoded.setLength(0);
+    IriEncoder.encodeUri(servletPath, encoded);
+    out.append("  <url>\n    <loc>");
+    appendXml(canonicalBase, out);
+    appendXml(encoded, out);
+    out.append("</loc>\n");
+    Instant lastModified = getLastModified(page);
+    if (lastModified != null) {
+      out.append("    <lastmod>").append(lastModified.toString()).append("</lastmod>\n");
+    }
+    out.append("  </url>\n");
+    urlCount++;
+    return true;
+  }
+
+  /**
+   * Gets the most specific date the page was last modified: modified, then published, then created.
+   */
+  private static Instant getLastModified(Page page) {
+    Instant instant = page.getDateModifiedInstant();
+    if (instant == null) {
+      instant = page.getDatePublishedInstant();
+      if (instant == null) {
+        instant = page.getDateCreatedInstant();
+      }
+    }
+    return instant;
+  }
+
+  private static void appendXml(CharSequence value, Appendable out) throws IOException {
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '&':
+          out.append("&amp;");
+          break;
+        case '<':
+          out.append("&lt;");
+          break;
+        case '>':
+          out.append("&gt;");
+          break;
+        case '"':
+          out.append("&quot;");
+          break;
+        case '\'':
+          out.append("&apos;");
+          break;
+        default:
+          out.append(ch);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of URLs written so far.
+   */
+  public int getUrlCount() {
+    return urlCount;
+  }
+
+  /**
+   * Finishes the sitemap, closing {@code </urlset>}.  The underlying output is not closed.
+   */
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      out.append("</urlset>\n");
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+/**
+ * An optional pool that canonicalizes the often-repeated strings of the model, such as property names,
+ * book names, authors, copyrights, keywords, and parent short titles.  This reduces the memory used by
+ * duplicate strings across many pages, at the cost of a synchronized lookup as each value is set.
+ *
+ * <p>The pool is disabled by default, and may be enabled by setting the system property
+ * {@code com.semanticcms.core.model.StringPool.enabled} to {@code true} or by calling
+ * {@link #setEnabled(boolean)} before the model is created.  Pooled strings are only weakly referenced,
+ * so strings no longer used by the model may still be garbage collected.</p>
+ */
+public final class StringPool {
+
+  /** Make no instances. */
+  private StringPool() {
+    throw new AssertionError();
+  }
+
+  private static volatile boolean enabled = Boolean.getBoolean(StringPool.class.getName() + ".enabled");
+
+  private static final WeakInterner<String> interner = new WeakInterner<>();
+
+  /**
+   * Checks if the pool is enabled.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables the pool.  Strings already pooled remain canonical.
+   */
+  public static void setEnabled(boolean enabled) {
+    StringPool.enabled = enabled;
+  }
+
+  /**
+   * Gets the canonical instance of the given string when the pool is enabled.
+   *
+   * @return  the canonical instance, the string itself when the pool is disabled,
+   *          or {@code null} when the string is {@code null}
+   */
+  public static String intern(String value) {
+    return enabled ? interner.intern(value) : value;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import com.aoapps.lang.NullArgumentException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The table of contents of a page: a tree of the nested elements of a given type, such as sections,
+ * down to the {@linkplain Page#getTocLevels() levels} of the page.  Hidden elements, and everything nested
+ * within them, are not included.
+ *
+ * <p>Once a page is frozen, its table of contents is built once and cached,
+ * see {@link Page#getTableOfContents(java.lang.Class)}.</p>
+ */
+public final class TableOfContents {
+
+  /**
+   * One element in the table of contents.
+   */
+  public static final class Entry {
+
+    private final Element element;
+    private final String id;
+    private final String label;
+    private final int level;
+    private final List<Entry> children;
+
+    private Entry(Element element, int level, List<Entry> children) {
+      this.element = element;
+      this.id = element.getId();
+      this.label = element.getLabel();
+      this.level = level;
+      this.children = children;
+    }
+
+    public Element getElement() {
+      return element;
+    }
+
+    public String getId() {
+      return id;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    /**
+     * Gets the level of this entry, starting at {@code 1} for the top-level elements.
+     */
+    public int getLevel() {
+      return level;
+    }
+
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public List<Entry> getChildren() {
+      return children;
+    }
+
+    @Override
+    public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * Builds the table of contents of a page.
+   */
+  static TableOfContents build(Page page, Class<? extends Element> elementType) {
+    int[] size = new int[1];
+    List<Entry> entries = buildEntries(page, elementType, 1, Math.min(page.getTocLevels(), Page.MAX_TOC_LEVELS), size);
+    return new TableOfContents(page, elementType, entries, size[0]);
+  }
+
+  private static List<Entry> buildEntries(Node node, Class<? extends Element> elementType, int level, int maxLevel, int[] size) {
+    List<? extends Element> elements = node.findTopLevelElements(elementType);
+    List<Entry> entries = null;
+    for (Element element : elements) {
+      if (!element.isHidden()) {
+        List<Entry> children = level < maxLevel
+            ? buildEntries(element, elementType, level + 1, maxLevel, size)
+            : Collections.emptyList();
+        if (entries == null) {
+          entries = new ArrayList<>(elements.size());
+        }
+        entries.add(new Entry(element, level, children));
+        size[0]++;
+      }
+    }
+    if (entries == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(entries);
+  }
+
+  private final Page page;
+  private final Class<? extends Element> elementType;
+  private final List<Entry> entries;
+  private final int size;
+
+  private TableOfContents(Page page, Class<? extends Element> elementType, List<Entry> entries, int size) {
+    this.page = page;
+    this.elementType = NullArgumentException.checkNotNull(elementType, "elementType");
+    this.entries = entries;
+    this.size = size;
+  }
+
+  public Page getPage() {
+    return page;
+  }
+
+  /**
+   * Gets the type of element in the table of contents.
+   */
+  public Class<? extends Element> getElementType() {
+    return elementType;
+  }
+
+  /**
+   * Gets the top-level entries.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Gets the total number of entries, at all levels.
+   */
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalizes equal values to a single instance, while still allowing values to be garbage collected
+ * once no longer used elsewhere.  The values are split across several independently locked maps to reduce
+ * lock contention.
+ *
+ * @param  <T>  the type of value, which must be immutable with consistent {@code equals} and {@code hashCode}
+ */
+final class WeakInterner<T> {
+
+  /**
+   * The number of independently locked maps, must be a power of two.
+   */
+  private static final int STRIPES = 16;
+
+  private final Map<T, WeakReference<T>>[] maps;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  WeakInterner() {
+    maps = new Map[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      maps[i] = new WeakHashMap<>();
+    }
+  }
+
+  /**
+   * Gets the canonical instance equal to the given value, adding the value as the canonical instance when
+   * there is none.
+   *
+   * @return  the canonical instance or {@code null} when value is {@code null}
+   */
+  T intern(T value) {
+    if (value == null) {
+      return null;
+    }
+    int hash = value.hashCode();
+    Map<T, WeakReference<T>> map = maps[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    synchronized (map) {
+      WeakReference<T> ref = map.get(value);
+      if (ref != null) {
+        T existing = ref.get();
+        if (existing != null) {
+          return existing;
+        }
+      }
+      map.put(value, new WeakReference<>(value));
+      return value;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import org.junit.Test;
+
+public class IriEncoderTest {
+
+  @Test
+  public void testUnchangedReturnsSameString() {
+    String id = "section-1.2_(intro)";
+    assertSame(id, IriEncoder.encodeIriComponent(id));
+  }
+
+  @Test
+  public void testNonAsciiVerbatim() {
+    String id = "café-日本語";
+    assertSame(id, IriEncoder.encodeIriComponent(id));
+  }
+
+  @Test
+  public void testReservedAsciiEncoded() {
+    assertEquals("ns%3Aid", IriEncoder.encodeIriComponent("ns:id"));
+    assertEquals("a%20b%23c%25d%2F", IriEncoder.encodeIriComponent("a b#c%d/"));
+  }
+
+  @Test
+  public void testMixed() {
+    assertEquals("é%3Aé", IriEncoder.encodeIriComponent("é:é"));
+  }
+
+  @Test
+  public void testAppendMatchesString() throws IOException {
+    String id = "x:y z-é";
+    StringBuilder sb = new StringBuilder();
+    IriEncoder.encodeIriComponent(id, null, sb);
+    assertEquals(IriEncoder.encodeIriComponent(id), sb.toString());
+  }
+
+  @Test
+  public void testEncodeUri() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    IriEncoder.encodeUri(new StringBuilder("/a b/café/日?x=1&y=%20#\ud83d\ude00"), sb);
+    assertEquals("/a%20b/caf%C3%A9/%E6%97%A5?x=1&y=%20#%F0%9F%98%80", sb.toString());
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+public class PageCodecTest {
+
+  static class TestElement extends Element {
+
+    private String value;
+
+    @Override
+    public String getLabel() {
+      return value;
+    }
+
+    @Override
+    protected String getDefaultIdPrefix() {
+      return "test";
+    }
+
+    String getValue() {
+      return value;
+    }
+
+    void setValue(String value) {
+      checkNotFrozen();
+      this.value = value;
+    }
+  }
+
+  static class TestElementSerializer implements ElementSerializer<TestElement> {
+
+    @Override
+    public void writeElement(TestElement element, DataOutput out) throws IOException {
+      PageCodec.writeString(element.getValue(), out);
+    }
+
+    @Override
+    public TestElement readElement(DataInput in) throws IOException {
+      TestElement element = new TestElement();
+      element.setValue(PageCodec.readString(in));
+      return element;
+    }
+
+    @Override
+    public ElementWriter getElementWriter(TestElement element) {
+      return (out, context) -> out.write(element.getValue());
+    }
+  }
+
+  static PageCodec newCodec() {
+    return new PageCodec().register(TestElement.class, new TestElementSerializer());
+  }
+
+  static Page newPage(String bookName, String path) {
+    Page page = new Page();
+    page.setPageRef(new PageRef(bookName, path));
+    page.setTitle("Title");
+    // Explicitly the same as the title, which must not be lost
+    page.setShortTitle("Title");
+    page.setDescription("Description");
+    page.addChildRef(new ChildRef(new PageRef(bookName, path + "/child")));
+    page.setProperty("count", 3);
+    TestElement element = new TestElement();
+    element.setValue("Value");
+    page.addElement(element);
+    element.setId("element", false);
+    page.addChildElement(element, (out, context) -> out.write(element.getValue()));
+    return page.freeze();
+  }
+
+  static void assertRoundTrip(Page expected, Page actual) throws IOException {
+    assertTrue(actual.frozen);
+    assertEquals(expected.getContentDigest(), actual.getContentDigest());
+    assertEquals(expected.getPageRef(), actual.getPageRef());
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getShortTitleNoDefault(), actual.getShortTitleNoDefault());
+    assertEquals(expected.getDescription(), actual.getDescription());
+    assertEquals(expected.getChildRefs(), actual.getChildRefs());
+    assertEquals(expected.getProperty(), actual.getProperty());
+    List<Element> elements = actual.getElements();
+    assertEquals(1, elements.size());
+    TestElement element = (TestElement) elements.get(0);
+    assertEquals("element", element.getId());
+    assertEquals("Value", element.getValue());
+    assertEquals(actual, element.getPage());
+  }
+
+  private static byte[] write(PageCodec codec, Page page) throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bout)) {
+      codec.writePage(page, out);
+    }
+    return bout.toByteArray();
+  }
+
+  private static Page read(PageCodec codec, byte[] bytes) throws IOException {
+    return codec.readPage(new DataInputStream(new ByteArrayInputStream(bytes)), bookName -> null);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    PageCodec codec = newCodec();
+    Page page = newPage("/book", "/page");
+    assertRoundTrip(page, read(codec, write(codec, page)));
+  }
+
+  @Test
+  public void testRoundTripAllFields() throws IOException {
+    PageCodec codec = newCodec();
+    Page page = new Page();
+    page.setPageRef(new PageRef("/book", "/page"));
+    page.setSrc(new PageRef("/book", "/page.jsp"));
+    page.setCopyright(new Copyright("Holder", "Rights", "2026"));
+    page.addAuthor(new Author("Name", null, "/book", "/author"));
+    page.setDateCreated(new DateTime(1000000000000L, DateTimeZone.UTC));
+    page.setDateModified(new DateTime(1100000000000L, DateTimeZone.forID("America/Chicago")));
+    page.setTitle("Title");
+    page.setShortTitle("Short");
+    page.setKeywords("keywords");
+    page.setAllowRobots(false);
+    page.setToc(true);
+    page.setTocLevels(2);
+    page.addParentRef(new ParentRef(new PageRef("/book", "/"), "Parent"));
+    page.setAllowChildMismatch(true);
+    page.setProperty("flag", true);
+    page.setProperty("ratio", 0.5);
+    page.freeze();
+    Page read = read(codec, write(codec, page));
+    assertEquals(page.getContentDigest(), read.getContentDigest());
+    assertEquals(page.getSrc(), read.getSrc());
+    assertEquals(page.getCopyright(), read.getCopyright());
+    assertEquals(page.getAuthors(), read.getAuthors());
+    assertEquals(page.getDateCreated(), read.getDateCreated());
+    assertEquals(page.getDateModified(), read.getDateModified());
+    assertNull(read.getDatePublished());
+    assertEquals("Short", read.getShortTitle());
+    assertEquals(page.getKeywords(), read.getKeywords());
+    assertEquals(Boolean.FALSE, read.getAllowRobots());
+    assertEquals(Boolean.TRUE, read.getToc());
+    assertEquals(2, read.getTocLevels());
+    assertEquals(page.getParentRefs(), read.getParentRefs());
+    assertTrue(read.getAllowChildMismatch());
+    assertEquals(page.getProperty(), read.getProperty());
+    assertTrue(read.getElements().isEmpty());
+  }
+
+  @Test
+  public void testTruncated() throws IOException {
+    PageCodec codec = newCodec();
+    byte[] bytes = write(codec, newPage("/book", "/page"));
+    try {
+      read(codec, Arrays.copyOf(bytes, bytes.length - 1));
+      fail("Truncated page read");
+    } catch (EOFException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testStringLengthNotTrusted() throws IOException {
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bout)) {
+      out.writeInt(Integer.MAX_VALUE);
+      out.writeBytes("short");
+    }
+    try {
+      PageCodec.readString(new DataInputStream(new ByteArrayInputStream(bout.toByteArray())));
+      fail("String longer than input read");
+    } catch (EOFException e) {
+      // Expected
+    }
+    bout.reset();
+    try (DataOutputStream out = new DataOutputStream(bout)) {
+      PageCodec.writeString(null, out);
+    }
+    assertNull(PageCodec.readString(new DataInputStream(new ByteArrayInputStream(bout.toByteArray()))));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class PageDiskCacheTest {
+
+  private static Book newBook(Path cvsworkDirectory) {
+    Properties bookProps = new Properties();
+    bookProps.setProperty("content.root", "/index.jsp");
+    return new Book("/book", cvsworkDirectory.toString(), true, Collections.emptySet(), bookProps);
+  }
+
+  private static Path getEntryPath(PageDiskCache cache) throws IOException {
+    try (Stream<Path> paths = Files.walk(cache.getDirectory())) {
+      return paths.filter(Files::isRegularFile).findFirst().orElseThrow(AssertionError::new);
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Path cvsworkDirectory = Files.createTempDirectory("cvswork");
+    Files.write(cvsworkDirectory.resolve("page.jsp"), new byte[] {'x'});
+    Book book = newBook(cvsworkDirectory);
+    PageDiskCache cache = new PageDiskCache(
+        Files.createTempDirectory("cache"),
+        PageCodecTest.newCodec(),
+        bookName -> book.getName().equals(bookName) ? book : null
+    );
+    Page page = PageCodecTest.newPage(book.getName(), "/page.jsp");
+    PageRef pageRef = new PageRef(book, "/page.jsp");
+    assertNull(cache.get(pageRef));
+    long sourceLastModified = PageDiskCache.getSourceLastModified(pageRef);
+    assertTrue(cache.put(page, sourceLastModified));
+    PageCodecTest.assertRoundTrip(page, cache.get(pageRef));
+    // Changed source
+    Files.setLastModifiedTime(cvsworkDirectory.resolve("page.jsp"), FileTime.fromMillis(sourceLastModified + 2000));
+    assertNull(cache.get(pageRef));
+    assertTrue(cache.remove(pageRef));
+    assertFalse(cache.remove(pageRef));
+  }
+
+  @Test
+  public void testCorruptEntryRemoved() throws IOException {
+    Path cvsworkDirectory = Files.createTempDirectory("cvswork");
+    Files.write(cvsworkDirectory.resolve("page.jsp"), new byte[] {'x'});
+    Book book = newBook(cvsworkDirectory);
+    PageDiskCache cache = new PageDiskCache(Files.createTempDirectory("cache"), PageCodecTest.newCodec(), bookName -> book);
+    PageRef pageRef = new PageRef(book, "/page.jsp");
+    assertTrue(cache.put(PageCodecTest.newPage(book.getName(), "/page.jsp"), PageDiskCache.getSourceLastModified(pageRef)));
+    Path entryPath = getEntryPath(cache);
+    byte[] bytes = Files.readAllBytes(entryPath);
+    Files.write(entryPath, Arrays.copyOf(bytes, bytes.length - 1));
+    assertNull(cache.get(pageRef));
+    assertFalse(Files.exists(entryPath));
+  }
+
+  @Test
+  public void testUnreadableEntryKept() throws IOException {
+    Path cvsworkDirectory = Files.createTempDirectory("cvswork");
+    Files.write(cvsworkDirectory.resolve("page.jsp"), new byte[] {'x'});
+    Book book = newBook(cvsworkDirectory);
+    PageDiskCache cache = new PageDiskCache(Files.createTempDirectory("cache"), PageCodecTest.newCodec(), bookName -> book);
+    PageRef pageRef = new PageRef(book, "/page.jsp");
+    Page page = PageCodecTest.newPage(book.getName(), "/page.jsp");
+    assertTrue(cache.put(page, PageDiskCache.getSourceLastModified(pageRef)));
+    // A codec missing the element serializer, failing with NotSerializableException, does not remove the entry
+    PageDiskCache otherCache = new PageDiskCache(cache.getDirectory(), new PageCodec(), bookName -> book);
+    assertNull(otherCache.get(pageRef));
+    assertTrue(Files.exists(getEntryPath(cache)));
+    PageCodecTest.assertRoundTrip(page, cache.get(pageRef));
+  }
+}
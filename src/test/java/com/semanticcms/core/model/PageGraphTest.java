@@ -0,0 +1,128 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class PageGraphTest {
+
+  private static Page newPage(String path, String ... parentPaths) {
+    Page page = new Page();
+    page.setPageRef(new PageRef("/book", path));
+    for (String parentPath : parentPaths) {
+      page.addParentRef(new ParentRef(new PageRef("/book", parentPath), null));
+    }
+    return page.freeze();
+  }
+
+  /**
+   * Converts lists of ids to lists of paths, sorting the lists when order is not significant.
+   */
+  private static List<List<String>> toPaths(PageGraph graph, List<int[]> idLists, boolean sort) {
+    List<List<String>> pathLists = new ArrayList<>();
+    for (int[] ids : idLists) {
+      List<String> paths = new ArrayList<>();
+      for (int id : ids) {
+        paths.add(graph.getPage(id).getPageRef().getPath());
+      }
+      pathLists.add(paths);
+    }
+    if (sort) {
+      pathLists.sort((a, b) -> a.toString().compareTo(b.toString()));
+    }
+    return pathLists;
+  }
+
+  @Test
+  public void testDagHasNoCycles() {
+    PageGraph graph = new PageGraph(Arrays.asList(
+        newPage("/"),
+        newPage("/b", "/"),
+        newPage("/c", "/"),
+        newPage("/d", "/c", "/b", "/missing")
+    ));
+    assertEquals(4, graph.size());
+    assertTrue(graph.getCycles().isEmpty());
+    int d = graph.getId(new PageRef("/book", "/d"));
+    assertEquals(2, graph.getParentCount(d));
+    assertEquals(
+        Arrays.asList(Arrays.asList("/", "/c", "/d"), Arrays.asList("/", "/b", "/d")),
+        toPaths(graph, graph.getAncestorPaths(d), false)
+    );
+    assertEquals(
+        Arrays.asList(Arrays.asList("/")),
+        toPaths(graph, graph.getAncestorPaths(graph.getId(new PageRef("/book", "/"))), false)
+    );
+  }
+
+  @Test
+  public void testSelfLoop() {
+    PageGraph graph = new PageGraph(Arrays.asList(
+        newPage("/a", "/a"),
+        newPage("/b", "/a")
+    ));
+    assertEquals(
+        Arrays.asList(Arrays.asList("/a")),
+        toPaths(graph, graph.getCycles(), true)
+    );
+    assertEquals(
+        Arrays.asList(Arrays.asList("/a", "/b")),
+        toPaths(graph, graph.getAncestorPaths(graph.getId(new PageRef("/book", "/b"))), false)
+    );
+  }
+
+  @Test
+  public void testOverlappingCycles() {
+    // /a and /b, and /b and /c, are ancestors of one another, forming a single cycle, while /d and /e
+    // form another, reachable from the first through /c
+    PageGraph graph = new PageGraph(Arrays.asList(
+        newPage("/a", "/b"),
+        newPage("/b", "/a", "/c"),
+        newPage("/c", "/b", "/d"),
+        newPage("/d", "/e"),
+        newPage("/e", "/d"),
+        newPage("/f", "/a")
+    ));
+    assertEquals(
+        Arrays.asList(Arrays.asList("/a", "/b", "/c"), Arrays.asList("/d", "/e")),
+        toPaths(graph, graph.getCycles(), true)
+    );
+    // Every path ends at the page, and no page is repeated within a path
+    for (int[] path : graph.getAncestorPaths(graph.getId(new PageRef("/book", "/f")))) {
+      assertEquals("/f", graph.getPage(path[path.length - 1]).getPageRef().getPath());
+      assertEquals(path.length, Arrays.stream(path).distinct().count());
+    }
+    // A path only ends where no parent remains to be followed
+    assertEquals(
+        Arrays.asList(Arrays.asList("/e", "/d", "/c", "/b", "/a", "/f")),
+        toPaths(graph, graph.getAncestorPaths(graph.getId(new PageRef("/book", "/f"))), false)
+    );
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class PagePathIndexTest {
+
+  private static PagePathIndex<String> newIndex(String ... paths) {
+    PagePathIndex<String> index = new PagePathIndex<>("/book");
+    for (String path : paths) {
+      index.put(new PageRef("/book", path), path);
+    }
+    return index;
+  }
+
+  private static List<String> getPrefixed(PagePathIndex<String> index, String pathPrefix) {
+    List<String> paths = new ArrayList<>();
+    for (Map.Entry<PageRef, String> entry : index.getPrefixed(pathPrefix)) {
+      paths.add(entry.getValue());
+    }
+    return paths;
+  }
+
+  private static String getLongestPrefix(PagePathIndex<String> index, String path) {
+    Map.Entry<PageRef, String> entry = index.getLongestPrefix(path);
+    return entry == null ? null : entry.getValue();
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    PagePathIndex<String> index = newIndex("/", "/guides/", "/guides/intro", "/guides/intro/part-1");
+    assertEquals(4, index.size());
+    assertEquals("/guides/intro", index.get("/guides/intro"));
+    assertNull(index.get("/guides"));
+    assertEquals("/guides/intro", index.put(new PageRef("/book", "/guides/intro"), "replaced"));
+    assertEquals(4, index.size());
+    assertEquals("/guides/", index.remove(new PageRef("/book", "/guides/")));
+    assertNull(index.remove(new PageRef("/book", "/guides/")));
+    assertEquals(3, index.size());
+    assertEquals("/guides/intro/part-1", index.get("/guides/intro/part-1"));
+  }
+
+  @Test
+  public void testGetPrefixed() {
+    PagePathIndex<String> index = newIndex("/", "/guides", "/guides/", "/guides/b", "/guides/a/c", "/guides-old/x", "/other");
+    assertEquals(
+        List.of("/guides/", "/guides/a/c", "/guides/b"),
+        getPrefixed(index, "/guides/")
+    );
+    assertEquals(
+        List.of("/guides", "/guides-old/x", "/guides/", "/guides/a/c", "/guides/b"),
+        getPrefixed(index, "/guides")
+    );
+    assertEquals(7, getPrefixed(index, "/").size());
+    assertEquals(List.of(), getPrefixed(index, "/missing/"));
+  }
+
+  @Test
+  public void testGetLongestPrefix() {
+    PagePathIndex<String> index = newIndex("/", "/guides/", "/guides/intro", "/guides/in");
+    assertEquals("/guides/intro", getLongestPrefix(index, "/guides/intro/part-1"));
+    assertEquals("/guides/intro", getLongestPrefix(index, "/guides/intro"));
+    assertEquals("/guides/", getLongestPrefix(index, "/guides/install"));
+    assertEquals("/guides/", getLongestPrefix(index, "/guides/"));
+    assertEquals("/", getLongestPrefix(index, "/guides"));
+    assertEquals("/", getLongestPrefix(index, "/other/page"));
+    index.remove(new PageRef("/book", "/"));
+    assertNull(getLongestPrefix(index, "/other/page"));
+  }
+}
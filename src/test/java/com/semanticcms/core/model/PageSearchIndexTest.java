@@ -0,0 +1,112 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+
+import com.aoapps.io.buffer.BufferWriter;
+import com.aoapps.io.buffer.SegmentedWriter;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+
+public class PageSearchIndexTest {
+
+  private static Page newPage(String path, String body, String elementLabel) throws IOException {
+    Page page = new Page();
+    page.setPageRef(new PageRef("/book", path));
+    page.setTitle("Title");
+    BufferWriter bodyWriter = new SegmentedWriter();
+    try {
+      bodyWriter.write(body);
+    } finally {
+      bodyWriter.close();
+    }
+    page.setBody(bodyWriter.getResult());
+    Element element = new Element() {
+      @Override
+      public String getLabel() {
+        return elementLabel;
+      }
+
+      @Override
+      protected String getDefaultIdPrefix() {
+        return "test";
+      }
+    };
+    page.addElement(element);
+    page.addChildElement(element, (out, context) -> {
+      // Nothing to write
+    });
+    return page.freeze();
+  }
+
+  private static void assertFound(PageSearchIndex index, String query, String ... expectedPaths) {
+    List<Page> pages = index.search(query, 10);
+    assertEquals(expectedPaths.length, pages.size());
+    for (int i = 0; i < expectedPaths.length; i++) {
+      assertEquals(expectedPaths[i], pages.get(i).getPageRef().getPath());
+    }
+  }
+
+  @Test
+  public void testBodyTagsAndEntities() throws IOException {
+    PageSearchIndex index = new PageSearchIndex();
+    index.put(newPage("/page", "<p class=\"hidden\">Visible&nbsp;words &amp; more</p>", "Label"));
+    assertFound(index, "visible", "/page");
+    assertFound(index, "words", "/page");
+    assertFound(index, "hidden");
+    assertFound(index, "nbsp");
+    assertFound(index, "amp");
+  }
+
+  @Test
+  public void testBodyEndingInEntityDoesNotSwallowLabel() throws IOException {
+    PageSearchIndex index = new PageSearchIndex();
+    index.put(newPage("/page", "Ends with AT&T", "Widget"));
+    assertFound(index, "widget", "/page");
+  }
+
+  @Test
+  public void testBodyEndingInTagDoesNotSwallowLabel() throws IOException {
+    PageSearchIndex index = new PageSearchIndex();
+    index.put(newPage("/page", "Ends with an unterminated <tag", "Widget"));
+    assertFound(index, "widget", "/page");
+  }
+
+  @Test
+  public void testReplaceAndRemove() throws IOException {
+    PageSearchIndex index = new PageSearchIndex();
+    index.put(newPage("/one", "Common first", "Label"));
+    index.put(newPage("/two", "Common second", "Label"));
+    assertFound(index, "first", "/one");
+    index.put(newPage("/one", "Common replaced", "Label"));
+    assertFound(index, "first");
+    assertFound(index, "replaced", "/one");
+    assertEquals(2, index.search("common", 10).size());
+    index.remove(new PageRef("/book", "/one"));
+    assertFound(index, "common", "/two");
+    assertEquals(1, index.size());
+  }
+}
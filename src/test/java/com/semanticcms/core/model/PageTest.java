@@ -0,0 +1,96 @@
+/*
+ * semanticcms-core-model - Java API for modeling web page content and relationships.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of semanticcms-core-model.
+ *
+ * semanticcms-core-model is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * semanticcms-core-model is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with semanticcms-core-model.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.semanticcms.core.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PageTest {
+
+  private static class TestElement extends Element {
+
+    private final String label;
+
+    private TestElement(String label) {
+      this.label = label;
+    }
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+
+    @Override
+    protected String getDefaultIdPrefix() {
+      return "test";
+    }
+  }
+
+  /**
+   * Builds a page mixing explicit IDs with many anonymous elements sharing the same ID prefix, including
+   * explicit IDs that collide with the IDs that would be generated.
+   */
+  private static Page newPage() {
+    Page page = new Page();
+    page.setPageRef(new PageRef("/book", "/page"));
+    for (int i = 0; i < 40; i++) {
+      TestElement element = new TestElement(i % 3 == 0 ? "Other" : "Section");
+      page.addElement(element);
+      if (i == 12) {
+        element.setId("section");
+      } else if (i % 7 == 3) {
+        element.setId("section-" + (i / 2));
+      } else if (i == 25) {
+        element.setId("other-4");
+      }
+      page.addChildElement(element, (out, context) -> {
+        // Nothing to write
+      });
+    }
+    return page;
+  }
+
+  private static List<String> getIds(Page page) {
+    List<String> ids = new ArrayList<>();
+    for (Element element : page.getElements()) {
+      ids.add(element.getId());
+    }
+    return ids;
+  }
+
+  @Test
+  public void testFreezeGeneratesSameIdsAsGetId() {
+    // Previously, IDs were generated by calling getId() on each element, in order, before freezing
+    Page expected = newPage();
+    List<String> expectedIds = getIds(expected);
+    expected.freeze();
+    Page actual = newPage().freeze();
+    assertEquals(expectedIds, getIds(actual));
+    assertEquals(expected.getElementsById().keySet(), actual.getElementsById().keySet());
+    assertEquals(expected.getGeneratedIds(), actual.getGeneratedIds());
+  }
+}